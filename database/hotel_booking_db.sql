@@ -29,7 +29,8 @@ CREATE TABLE IF NOT EXISTS customers (
     date_of_birth DATE,
     loyalty_points INT DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL,
+    FULLTEXT INDEX ft_customer_search (name, email)
 );
 
 -- Create hotels table (enhanced)
@@ -48,7 +49,8 @@ CREATE TABLE IF NOT EXISTS hotels (
     manager_id INT,
     is_active BOOLEAN DEFAULT TRUE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (manager_id) REFERENCES users(id) ON DELETE SET NULL
+    FOREIGN KEY (manager_id) REFERENCES users(id) ON DELETE SET NULL,
+    FULLTEXT INDEX ft_hotel_search (name, address, city, description)
 );
 
 -- Create rooms table
@@ -81,11 +83,22 @@ CREATE TABLE IF NOT EXISTS bookings (
     special_requests TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
     FOREIGN KEY (hotel_id) REFERENCES hotels(id) ON DELETE CASCADE,
     FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE SET NULL
 );
 
+-- Cache invalidations for other application nodes, appended in the same transaction as each change
+CREATE TABLE IF NOT EXISTS invalidation_log (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(32) NOT NULL,
+    entity_id INT NOT NULL,
+    node_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_invalidation_created (created_at)
+);
+
 -- Insert sample users
 INSERT INTO users (username, email, password, role, first_name, last_name, phone) VALUES
 ('admin', 'admin@hotel.com', '$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi', 'ADMIN', 'Admin', 'User', '+1-555-0001'),
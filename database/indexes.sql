@@ -12,7 +12,9 @@ CREATE INDEX IF NOT EXISTS idx_booking_customer ON bookings(customer_id);
 CREATE INDEX IF NOT EXISTS idx_booking_room ON bookings(room_id);
 CREATE INDEX IF NOT EXISTS idx_booking_dates ON bookings(check_in_date, check_out_date);
 CREATE INDEX IF NOT EXISTS idx_booking_status ON bookings(status);
-CREATE INDEX IF NOT EXISTS idx_booking_created ON bookings(created_at);
+-- (created_at, id) matches the keyset scan ORDER BY created_at DESC, id DESC.
+-- Databases that still have the created_at-only index get it from migrations/003_widen_booking_created_index.sql
+CREATE INDEX IF NOT EXISTS idx_booking_created ON bookings(created_at, id);
 
 -- Room table indexes
 CREATE INDEX IF NOT EXISTS idx_room_hotel ON rooms(hotel_id);
@@ -23,12 +25,16 @@ CREATE INDEX IF NOT EXISTS idx_room_price ON rooms(price);
 -- Hotel table indexes
 CREATE INDEX IF NOT EXISTS idx_hotel_name ON hotels(name);
 CREATE INDEX IF NOT EXISTS idx_hotel_city ON hotels(city);
+-- ft_hotel_search (FULLTEXT, MySQL only) is declared with the table in hotel_booking_db.sql
 
 -- Customer table indexes
 CREATE INDEX IF NOT EXISTS idx_customer_email ON customers(email);
 CREATE INDEX IF NOT EXISTS idx_customer_phone ON customers(phone);
+-- ft_customer_search (FULLTEXT, MySQL only) is declared with the table in hotel_booking_db.sql
 
 -- Composite indexes for common queries
 CREATE INDEX IF NOT EXISTS idx_booking_customer_dates ON bookings(customer_id, check_in_date, check_out_date);
+-- Covering index for the availability anti-join (room probe, status filter, overlap test)
+CREATE INDEX IF NOT EXISTS idx_booking_room_status_dates ON bookings(room_id, status, check_in_date, check_out_date);
 CREATE INDEX IF NOT EXISTS idx_room_hotel_available ON rooms(hotel_id, available);
 CREATE INDEX IF NOT EXISTS idx_user_username_active ON users(username, active);
@@ -0,0 +1,6 @@
+-- Adds the optimistic lock column used by booking updates
+-- Run once on databases created before bookings.version existed; new databases get it from hotel_booking_db.sql
+
+USE hotel_booking_db;
+
+ALTER TABLE bookings ADD COLUMN version INT NOT NULL DEFAULT 0;
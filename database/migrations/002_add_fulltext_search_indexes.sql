@@ -0,0 +1,7 @@
+-- Adds the FULLTEXT indexes behind hotel and customer search (booking.search.fulltext.enabled=true)
+-- Run once on databases created before hotel_booking_db.sql declared ft_hotel_search and ft_customer_search
+
+USE hotel_booking_db;
+
+ALTER TABLE hotels ADD FULLTEXT INDEX ft_hotel_search (name, address, city, description);
+ALTER TABLE customers ADD FULLTEXT INDEX ft_customer_search (name, email);
@@ -0,0 +1,8 @@
+-- Widens idx_booking_created from (created_at) to (created_at, id) for keyset pagination of bookings
+-- Run once on databases whose idx_booking_created was created on created_at alone
+
+USE hotel_booking_db;
+
+ALTER TABLE bookings
+    DROP INDEX idx_booking_created,
+    ADD INDEX idx_booking_created (created_at, id);
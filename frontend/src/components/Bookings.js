@@ -179,15 +179,23 @@ function Bookings() {
     }
   };
 
-  const handleEdit = (booking) => {
-    setEditBooking({
-      ...booking,
-      customerId: booking.customerId.toString(),
-      hotelId: booking.hotelId.toString(),
-      bookingDate: new Date(booking.bookingDate).toISOString().split('T')[0]
-    });
-    setShowEditModal(true);
-    setErrors({});
+  const handleEdit = async (booking) => {
+    try {
+      // The list row is a summary; edit the full booking, including the version it was read at
+      const response = await axios.get(`http://localhost:8080/api/bookings/${booking.id}`);
+      const fullBooking = response.data.booking;
+      setEditBooking({
+        ...fullBooking,
+        customerId: fullBooking.customerId.toString(),
+        hotelId: fullBooking.hotelId.toString(),
+        bookingDate: fullBooking.bookingDate ? new Date(fullBooking.bookingDate).toISOString().split('T')[0] : ''
+      });
+      setShowEditModal(true);
+      setErrors({});
+    } catch (error) {
+      console.error('Error loading booking:', error);
+      showAlert('Error loading booking details. Please try again.', 'error');
+    }
   };
 
   const handleUpdateSubmit = async (e) => {
@@ -199,10 +207,13 @@ function Bookings() {
     
     try {
       setSubmitLoading(true);
+      // Sent with the version it was read at, so a concurrent edit is rejected with 409 instead of overwritten
       const bookingData = {
+        ...editBooking,
         customerId: parseInt(editBooking.customerId),
         hotelId: parseInt(editBooking.hotelId),
-        bookingDate: editBooking.bookingDate
+        bookingDate: editBooking.bookingDate || null,
+        version: editBooking.version
       };
       const response = await axios.put(`http://localhost:8080/api/bookings/${editBooking.id}`, bookingData);
       
@@ -215,6 +226,13 @@ function Bookings() {
       showAlert(message, 'success');
     } catch (error) {
       console.error('Error updating booking:', error);
+      if (error.response?.status === 409 && error.response?.data?.error === 'Booking was modified by another user') {
+        setShowEditModal(false);
+        setEditBooking(null);
+        fetchBookings();
+        showAlert('This booking was changed by someone else. Open it again to see the latest version.', 'error');
+        return;
+      }
       const errorMessage = error.response?.data?.error || error.response?.data?.message || 'Error updating booking';
       showAlert(errorMessage, 'error');
     } finally {
@@ -96,10 +96,17 @@ function Hotels() {
     }
   };
 
-  const handleEdit = (hotel) => {
-    setEditHotel({ ...hotel });
-    setShowEditModal(true);
-    setErrors({});
+  // The list only carries a summary (description cut short, no contact details), so edit the full hotel
+  const handleEdit = async (hotel) => {
+    try {
+      const response = await axios.get(`http://localhost:8080/api/hotels/${hotel.id}`);
+      setEditHotel({ ...response.data.hotel });
+      setShowEditModal(true);
+      setErrors({});
+    } catch (error) {
+      console.error('Error loading hotel:', error);
+      showAlert('Error loading hotel details. Please try again.', 'error');
+    }
   };
 
   const handleUpdateSubmit = async (e) => {
@@ -0,0 +1,65 @@
+package com.example.hotelbooking.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.example.hotelbooking.dto.UserPrincipal;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Read-through caches in front of the DAOs. Caffeine bounds them by size with W-TinyLFU admission,
+// so a scan of rarely used ids does not flush the hot ones. Hit, miss and eviction counts are
+// published as cache.gets / cache.evictions with a cache tag under /actuator/metrics.
+@Configuration
+public class CacheConfig {
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public Cache<Integer, Hotel> hotelCache(@Value("${booking.cache.hotels.max-size:10000}") long maxSize,
+                                            @Value("${booking.cache.hotels.ttl-seconds:300}") long ttlSeconds) {
+        return build("hotels", maxSize, ttlSeconds);
+    }
+
+    @Bean
+    public Cache<Integer, Room> roomCache(@Value("${booking.cache.rooms.max-size:50000}") long maxSize,
+                                         @Value("${booking.cache.rooms.ttl-seconds:300}") long ttlSeconds) {
+        return build("rooms", maxSize, ttlSeconds);
+    }
+
+    // Short TTL: a user deactivated elsewhere stops resolving within ttl-seconds at most
+    @Bean
+    public Cache<Integer, UserPrincipal> userPrincipalsById(@Value("${booking.cache.users.max-size:10000}") long maxSize,
+                                                            @Value("${booking.cache.users.ttl-seconds:30}") long ttlSeconds) {
+        return build("users.id", maxSize, ttlSeconds);
+    }
+
+    // Only resolves a username to an id; principals themselves live in userPrincipalsById alone
+    @Bean
+    public Cache<String, Integer> userIdsByUsername(@Value("${booking.cache.users.max-size:10000}") long maxSize,
+                                                    @Value("${booking.cache.users.ttl-seconds:30}") long ttlSeconds) {
+        return build("users.username", maxSize, ttlSeconds);
+    }
+
+    private <K, V> Cache<K, V> build(String name, long maxSize, long ttlSeconds) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+        return cache;
+    }
+}
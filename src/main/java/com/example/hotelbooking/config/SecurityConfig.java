@@ -45,8 +45,9 @@ public class SecurityConfig {
                 .antMatchers("/api/auth/**").permitAll()
                 .antMatchers("/h2-console/**").permitAll()
                 .antMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
-                .antMatchers("/actuator/**").permitAll()
-                .antMatchers("/api/hotels", "/api/rooms", "/api/rooms/hotel/**").permitAll()
+                .antMatchers("/actuator/health", "/actuator/info").permitAll()
+                .antMatchers("/actuator/**").hasRole("ADMIN")
+                .antMatchers("/api/hotels", "/api/rooms", "/api/rooms/hotel/**", "/api/rooms/availability", "/api/rooms/*/calendar").permitAll()
                 .antMatchers("/api/dashboard/**", "/api/bookings/**", "/api/customers/**").authenticated()
                 .antMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
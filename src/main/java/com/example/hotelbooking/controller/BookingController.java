@@ -1,11 +1,17 @@
 package com.example.hotelbooking.controller;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -18,40 +24,70 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.hotelbooking.dao.BookingDAO;
+import com.example.hotelbooking.dao.CursorPage;
+import com.example.hotelbooking.dao.Page;
+import com.example.hotelbooking.dao.PageRequest;
+import com.example.hotelbooking.dto.BatchBookingRequest;
+import com.example.hotelbooking.dto.BatchBookingResult;
+import com.example.hotelbooking.dto.BookingSummary;
+import com.example.hotelbooking.exception.BookingConflictException;
+import com.example.hotelbooking.exception.InvalidBookingException;
+import com.example.hotelbooking.exception.ResourceNotFoundException;
 import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.RoomHold;
+import com.example.hotelbooking.service.BookingExporter;
+import com.example.hotelbooking.service.RoomHoldManager;
 
 @RestController
 @RequestMapping("/api/bookings")
 @CrossOrigin(origins = "http://localhost:3000")
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private BookingDAO bookingDAO;
 
+    @Autowired
+    private RoomHoldManager holdManager;
+
+    @Autowired
+    private BookingExporter bookingExporter;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "") String search) {
+            @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<Booking> bookings = bookingDAO.getAllBookings();
-            long total = bookings.size();
+            // Any cursor parameter, even an empty one for the first slice, switches to keyset paging
+            if (cursor != null) {
+                CursorPage<BookingSummary> slice = bookingDAO.getBookingsAfter(cursor, size);
+                Map<String, Object> response = new HashMap<>();
+                response.put("bookings", slice.getContent());
+                response.put("nextCursor", slice.getNextCursor());
+                response.put("size", size);
+                return ResponseEntity.ok(response);
+            }
             
-            // Simple pagination
-            int start = page * size;
-            int end = Math.min(start + size, bookings.size());
-            List<Booking> paginatedBookings = bookings.subList(start, end);
+            Page<BookingSummary> bookings = bookingDAO.getBookings(PageRequest.of(page, size));
             
             Map<String, Object> response = new HashMap<>();
-            response.put("bookings", paginatedBookings);
-            response.put("totalElements", total);
-            response.put("totalPages", (int) Math.ceil((double) total / size));
-            response.put("currentPage", page);
-            response.put("size", size);
+            response.put("bookings", bookings.getContent());
+            response.put("totalElements", bookings.getTotalElements());
+            response.put("totalPages", bookings.getTotalPages());
+            response.put("currentPage", bookings.getPage());
+            response.put("size", bookings.getSize());
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Invalid cursor");
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch bookings");
@@ -60,8 +96,56 @@ public class BookingController {
         }
     }
 
+    // Full dump for reconciliation, streamed row by row; from/to filter on created_at, to exclusive
+    @GetMapping("/export")
+    public ResponseEntity<?> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String status) {
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = from != null && !from.isEmpty() ? LocalDate.parse(from) : null;
+            toDate = to != null && !to.isEmpty() ? LocalDate.parse(to) : null;
+        } catch (DateTimeParseException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Dates must be in yyyy-MM-dd format");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        if (fromDate != null && toDate != null && !fromDate.isBefore(toDate)) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "from must be before to");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        String statusFilter = status != null && !status.isEmpty() ? status.toUpperCase() : null;
+
+        StreamingResponseBody body;
+        MediaType contentType;
+        String extension;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            body = out -> bookingExporter.writeNdjson(fromDate, toDate, statusFilter, out);
+            contentType = MediaType.parseMediaType("application/x-ndjson");
+            extension = "ndjson";
+        } else if ("csv".equalsIgnoreCase(format)) {
+            body = out -> bookingExporter.writeCsv(fromDate, toDate, statusFilter, out);
+            contentType = MediaType.parseMediaType("text/csv;charset=UTF-8");
+            extension = "csv";
+        } else {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "format must be ndjson or csv");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + extension + "\"")
+                .body(body);
+    }
+
     @PostMapping
-    public ResponseEntity<Map<String, Object>> addBooking(@RequestBody Booking booking) {
+    public ResponseEntity<Map<String, Object>> addBooking(@RequestBody Booking booking,
+                                                          @RequestParam(required = false) String holdId) {
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -92,10 +176,23 @@ public class BookingController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            bookingDAO.addBooking(booking);
+            // Room bookings go through the conflict-checked reservation path
+            if (booking.getRoomId() != null) {
+                bookingDAO.reserveBooking(booking, holdId);
+            } else {
+                bookingDAO.addBooking(booking);
+            }
             response.put("message", "Booking added successfully");
             response.put("booking", booking);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (BookingConflictException e) {
+            response.put("error", "Room is not available for the selected dates");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (InvalidBookingException e) {
+            response.put("error", "Invalid booking");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             response.put("error", "Error adding booking");
             response.put("message", e.getMessage());
@@ -103,6 +200,154 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> addBookings(@RequestBody BatchBookingRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            List<Booking> bookings = request.getBookings();
+            if (bookings == null || bookings.isEmpty()) {
+                response.put("error", "At least one booking is required");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (bookings.size() > MAX_BATCH_SIZE) {
+                response.put("error", "A batch may contain at most " + MAX_BATCH_SIZE + " bookings");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            // Validate every item up front; invalid items fail the whole batch unless partial accept was requested
+            BatchBookingResult invalid = new BatchBookingResult();
+            Map<Integer, Booking> valid = new LinkedHashMap<>();
+            for (int i = 0; i < bookings.size(); i++) {
+                String problem = validateBatchItem(bookings.get(i));
+                if (problem != null) {
+                    invalid.reject(i, problem);
+                } else {
+                    valid.put(i, bookings.get(i));
+                }
+            }
+
+            if (request.isAllOrNothing() && invalid.getRejectedCount() > 0) {
+                response.put("error", "Invalid bookings in batch");
+                response.put("items", invalid.getItems());
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            BatchBookingResult result = bookingDAO.reserveBookings(valid, request.isAllOrNothing());
+            for (BatchBookingResult.Item item : invalid.getItems()) {
+                result.reject(item.getIndex(), item.getReason());
+            }
+
+            response.put("mode", request.isAllOrNothing() ? BatchBookingRequest.ALL_OR_NOTHING : BatchBookingRequest.PARTIAL);
+            response.put("accepted", result.getAcceptedCount());
+            response.put("rejected", result.getRejectedCount());
+            response.put("items", result.getItems());
+            if (result.getAcceptedCount() == 0) {
+                response.put("error", "No rooms could be reserved for the selected dates");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            response.put("message", "Bookings added successfully");
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            response.put("error", "Error adding bookings");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<Map<String, Object>> placeHold(@RequestBody RoomHold hold,
+                                                         @RequestParam(defaultValue = "0") long ttlSeconds) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            if (hold.getHotelId() <= 0) {
+                response.put("error", "Valid hotel ID is required");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (hold.getRoomId() <= 0) {
+                response.put("error", "Valid room ID is required");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (hold.getCheckInDate() == null || hold.getCheckOutDate() == null) {
+                response.put("error", "Check-in and check-out dates are required");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (!hold.getCheckInDate().before(hold.getCheckOutDate())) {
+                response.put("error", "Check-out date must be after check-in date");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            bookingDAO.placeHold(hold, ttlSeconds);
+            response.put("message", "Room held successfully");
+            response.put("hold", hold);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (BookingConflictException e) {
+            response.put("error", "Room is not available for the selected dates");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (InvalidBookingException e) {
+            response.put("error", "Invalid hold");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("error", "Error placing hold");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<Map<String, Object>> getHold(@PathVariable String holdId) {
+        Map<String, Object> response = new HashMap<>();
+
+        RoomHold hold = holdManager.getHold(holdId);
+        if (hold == null) {
+            response.put("error", "Hold not found or expired");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("hold", hold);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Map<String, Object>> releaseHold(@PathVariable String holdId) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (!holdManager.release(holdId)) {
+            response.put("error", "Hold not found or expired");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("message", "Hold released successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    private String validateBatchItem(Booking booking) {
+        if (booking == null) {
+            return "Booking is required";
+        }
+        if (booking.getCustomerId() <= 0) {
+            return "Valid customer ID is required";
+        }
+        if (booking.getHotelId() <= 0) {
+            return "Valid hotel ID is required";
+        }
+        if (booking.getRoomId() == null || booking.getRoomId() <= 0) {
+            return "Valid room ID is required";
+        }
+        if (booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return "Check-in and check-out dates are required";
+        }
+        if (!booking.getCheckInDate().before(booking.getCheckOutDate())) {
+            return "Check-out date must be after check-in date";
+        }
+        return null;
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Map<String, Object>> getBookingById(@PathVariable int id) {
         Map<String, Object> response = new HashMap<>();
@@ -159,13 +404,6 @@ public class BookingController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // Check if booking exists
-            Booking existingBooking = bookingDAO.getBookingById(id);
-            if (existingBooking == null) {
-                response.put("error", "Booking not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-            
             // Validation
             if (booking.getCustomerId() <= 0) {
                 response.put("error", "Valid customer ID is required");
@@ -193,11 +431,27 @@ public class BookingController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+            // Existence and version are checked by the conditional update itself
             booking.setId(id);
             bookingDAO.updateBooking(booking);
             response.put("message", "Booking updated successfully");
             response.put("booking", booking);
             return ResponseEntity.ok(response);
+        } catch (ResourceNotFoundException e) {
+            response.put("error", "Booking not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            response.put("error", "Booking was modified by another user");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (BookingConflictException e) {
+            response.put("error", "Room is not available for the selected dates");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (InvalidBookingException e) {
+            response.put("error", "Invalid booking");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         } catch (Exception e) {
             response.put("error", "Error updating booking");
             response.put("message", e.getMessage());
@@ -215,16 +469,13 @@ public class BookingController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // Check if booking exists
-            Booking existingBooking = bookingDAO.getBookingById(id);
-            if (existingBooking == null) {
-                response.put("error", "Booking not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-            
+            // Existence is checked by the delete itself
             bookingDAO.deleteBooking(id);
             response.put("message", "Booking deleted successfully");
             return ResponseEntity.ok(response);
+        } catch (ResourceNotFoundException e) {
+            response.put("error", "Booking not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         } catch (Exception e) {
             response.put("error", "Error deleting booking");
             response.put("message", e.getMessage());
@@ -1,7 +1,6 @@
 package com.example.hotelbooking.controller;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +19,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hotelbooking.dao.CustomerDAO;
+import com.example.hotelbooking.dao.Page;
+import com.example.hotelbooking.dao.PageRequest;
+import com.example.hotelbooking.dto.CustomerSummary;
 import com.example.hotelbooking.model.Customer;
 
 @RestController
@@ -36,30 +38,15 @@ public class CustomerController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String search) {
         try {
-            List<Customer> customers = customerDAO.getAllCustomers();
-            long total = customers.size();
-            
-            // Filter by search if provided
-            if (!search.isEmpty()) {
-                customers = customers.stream()
-                    .filter(customer -> 
-                        customer.getName().toLowerCase().contains(search.toLowerCase()) ||
-                        customer.getEmail().toLowerCase().contains(search.toLowerCase()))
-                    .collect(java.util.stream.Collectors.toList());
-                total = customers.size();
-            }
-            
-            // Simple pagination
-            int start = page * size;
-            int end = Math.min(start + size, customers.size());
-            List<Customer> paginatedCustomers = customers.subList(start, end);
+            // Search and paging run in the database
+            Page<CustomerSummary> customers = customerDAO.getCustomers(search, PageRequest.of(page, size));
             
             Map<String, Object> response = new HashMap<>();
-            response.put("customers", paginatedCustomers);
-            response.put("totalElements", total);
-            response.put("totalPages", (int) Math.ceil((double) total / size));
-            response.put("currentPage", page);
-            response.put("size", size);
+            response.put("customers", customers.getContent());
+            response.put("totalElements", customers.getTotalElements());
+            response.put("totalPages", customers.getTotalPages());
+            response.put("currentPage", customers.getPage());
+            response.put("size", customers.getSize());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -13,11 +13,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hotelbooking.dao.BookingDAO;
-import com.example.hotelbooking.dao.CustomerDAO;
-import com.example.hotelbooking.dao.HotelDAO;
-import com.example.hotelbooking.dao.RoomDAO;
-import com.example.hotelbooking.dao.UserDAO;
-import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.dto.BookingStatusBreakdown;
+import com.example.hotelbooking.dto.BookingSummary;
+import com.example.hotelbooking.dto.EntityCounts;
+import com.example.hotelbooking.model.BookingStatus;
+import com.example.hotelbooking.service.DashboardSnapshot;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -28,37 +28,28 @@ public class DashboardController {
     private BookingDAO bookingDAO;
     
     @Autowired
-    private CustomerDAO customerDAO;
-    
-    @Autowired
-    private HotelDAO hotelDAO;
-    
-    @Autowired
-    private RoomDAO roomDAO;
-    
-    @Autowired
-    private UserDAO userDAO;
+    private DashboardSnapshot snapshot;
     
     @GetMapping("/overview")
     public ResponseEntity<Map<String, Object>> getDashboardOverview() {
         try {
             Map<String, Object> overview = new HashMap<>();
             
-            // Basic counts
-            int totalBookings = bookingDAO.getTotalBookingsCount();
-            int totalCustomers = customerDAO.getAllCustomers().size();
-            int totalHotels = hotelDAO.getAllHotels().size();
-            int totalRooms = roomDAO.getAllRooms().size();
-            
-            // Booking status counts
-            int pendingBookings = bookingDAO.getBookingsCountByStatus("PENDING");
-            int confirmedBookings = bookingDAO.getBookingsCountByStatus("CONFIRMED");
-            int checkedInBookings = bookingDAO.getBookingsCountByStatus("CHECKED_IN");
-            int checkedOutBookings = bookingDAO.getBookingsCountByStatus("CHECKED_OUT");
-            int cancelledBookings = bookingDAO.getBookingsCountByStatus("CANCELLED");
-            
-            // Revenue calculation
-            Double totalRevenue = bookingDAO.getTotalRevenue();
+            // Basic counts, from the in-memory snapshot
+            EntityCounts entities = snapshot.getEntityCounts();
+            long totalCustomers = entities.getCustomers();
+            long totalHotels = entities.getHotels();
+            long totalRooms = entities.getRooms();
+            
+            // Booking totals, status counts and revenue, kept current by every booking write
+            BookingStatusBreakdown bookings = snapshot.getBookingTotals();
+            long totalBookings = bookings.getTotalCount();
+            long pendingBookings = bookings.getCount(BookingStatus.PENDING);
+            long confirmedBookings = bookings.getCount(BookingStatus.CONFIRMED);
+            long checkedInBookings = bookings.getCount(BookingStatus.CHECKED_IN);
+            long checkedOutBookings = bookings.getCount(BookingStatus.CHECKED_OUT);
+            long cancelledBookings = bookings.getCount(BookingStatus.CANCELLED);
+            double totalRevenue = bookings.getTotalRevenue();
             
             // Mock customer-specific data (these would normally come from session/auth)
             int myBookings = 3;
@@ -67,7 +58,7 @@ public class DashboardController {
             int upcomingBookings = 1;
             
             overview.put("totalBookings", totalBookings);
-            overview.put("totalRevenue", totalRevenue != null ? totalRevenue : 0.0);
+            overview.put("totalRevenue", totalRevenue);
             overview.put("totalHotels", totalHotels);
             overview.put("totalCustomers", totalCustomers);
             overview.put("totalRooms", totalRooms);
@@ -80,6 +71,7 @@ public class DashboardController {
             overview.put("checkedInBookings", checkedInBookings);
             overview.put("checkedOutBookings", checkedOutBookings);
             overview.put("cancelledBookings", cancelledBookings);
+            overview.put("snapshotAgeMs", snapshot.getAgeMillis());
             
             return ResponseEntity.ok(overview);
         } catch (Exception e) {
@@ -95,25 +87,25 @@ public class DashboardController {
         try {
             Map<String, Object> stats = new HashMap<>();
             
-            // Basic counts
-            int totalBookings = bookingDAO.getTotalBookingsCount();
-            int totalCustomers = customerDAO.getAllCustomers().size();
-            int totalHotels = hotelDAO.getAllHotels().size();
-            int totalRooms = roomDAO.getAllRooms().size();
-            int totalUsers = userDAO.getAllUsers().size();
-            
-            // Booking status counts
-            int pendingBookings = bookingDAO.getBookingsCountByStatus("PENDING");
-            int confirmedBookings = bookingDAO.getBookingsCountByStatus("CONFIRMED");
-            int checkedInBookings = bookingDAO.getBookingsCountByStatus("CHECKED_IN");
-            int checkedOutBookings = bookingDAO.getBookingsCountByStatus("CHECKED_OUT");
-            int cancelledBookings = bookingDAO.getBookingsCountByStatus("CANCELLED");
-            
-            // Revenue
-            Double totalRevenue = bookingDAO.getTotalRevenue();
+            // Basic counts, from the in-memory snapshot
+            EntityCounts entities = snapshot.getEntityCounts();
+            long totalCustomers = entities.getCustomers();
+            long totalHotels = entities.getHotels();
+            long totalRooms = entities.getRooms();
+            long totalUsers = entities.getUsers();
+            
+            // Booking totals, status counts and revenue, kept current by every booking write
+            BookingStatusBreakdown bookings = snapshot.getBookingTotals();
+            long totalBookings = bookings.getTotalCount();
+            long pendingBookings = bookings.getCount(BookingStatus.PENDING);
+            long confirmedBookings = bookings.getCount(BookingStatus.CONFIRMED);
+            long checkedInBookings = bookings.getCount(BookingStatus.CHECKED_IN);
+            long checkedOutBookings = bookings.getCount(BookingStatus.CHECKED_OUT);
+            long cancelledBookings = bookings.getCount(BookingStatus.CANCELLED);
+            double totalRevenue = bookings.getTotalRevenue();
             
             // Recent bookings
-            List<Booking> recentBookings = bookingDAO.getRecentBookings(10);
+            List<BookingSummary> recentBookings = bookingDAO.getRecentBookings(10);
             
             stats.put("totalBookings", totalBookings);
             stats.put("totalCustomers", totalCustomers);
@@ -125,8 +117,9 @@ public class DashboardController {
             stats.put("checkedInBookings", checkedInBookings);
             stats.put("checkedOutBookings", checkedOutBookings);
             stats.put("cancelledBookings", cancelledBookings);
-            stats.put("totalRevenue", totalRevenue != null ? totalRevenue : 0.0);
+            stats.put("totalRevenue", totalRevenue);
             stats.put("recentBookings", recentBookings);
+            stats.put("snapshotAgeMs", snapshot.getAgeMillis());
             
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
@@ -142,17 +135,19 @@ public class DashboardController {
         try {
             Map<String, Object> chartData = new HashMap<>();
             
-            int pending = bookingDAO.getBookingsCountByStatus("PENDING");
-            int confirmed = bookingDAO.getBookingsCountByStatus("CONFIRMED");
-            int checkedIn = bookingDAO.getBookingsCountByStatus("CHECKED_IN");
-            int checkedOut = bookingDAO.getBookingsCountByStatus("CHECKED_OUT");
-            int cancelled = bookingDAO.getBookingsCountByStatus("CANCELLED");
+            BookingStatusBreakdown bookings = snapshot.getBookingTotals();
+            long pending = bookings.getCount(BookingStatus.PENDING);
+            long confirmed = bookings.getCount(BookingStatus.CONFIRMED);
+            long checkedIn = bookings.getCount(BookingStatus.CHECKED_IN);
+            long checkedOut = bookings.getCount(BookingStatus.CHECKED_OUT);
+            long cancelled = bookings.getCount(BookingStatus.CANCELLED);
             
             chartData.put("labels", new String[]{"Pending", "Confirmed", "Checked In", "Checked Out", "Cancelled"});
-            chartData.put("data", new int[]{pending, confirmed, checkedIn, checkedOut, cancelled});
+            chartData.put("data", new long[]{pending, confirmed, checkedIn, checkedOut, cancelled});
             chartData.put("backgroundColor", new String[]{
                 "#f59e0b", "#10b981", "#3b82f6", "#8b5cf6", "#ef4444"
             });
+            chartData.put("snapshotAgeMs", snapshot.getAgeMillis());
             
             return ResponseEntity.ok(chartData);
         } catch (Exception e) {
@@ -169,13 +164,16 @@ public class DashboardController {
             Map<String, Object> summary = new HashMap<>();
             
             // Key metrics
-            summary.put("totalBookings", bookingDAO.getTotalBookingsCount());
-            summary.put("totalRevenue", bookingDAO.getTotalRevenue());
-            summary.put("activeHotels", hotelDAO.getAllHotels().size());
-            summary.put("registeredCustomers", customerDAO.getAllCustomers().size());
+            BookingStatusBreakdown bookings = snapshot.getBookingTotals();
+            EntityCounts entities = snapshot.getEntityCounts();
+            summary.put("totalBookings", bookings.getTotalCount());
+            summary.put("totalRevenue", bookings.getTotalRevenue());
+            summary.put("activeHotels", entities.getHotels());
+            summary.put("registeredCustomers", entities.getCustomers());
+            summary.put("snapshotAgeMs", snapshot.getAgeMillis());
             
             // Recent activity
-            List<Booking> recentBookings = bookingDAO.getRecentBookings(5);
+            List<BookingSummary> recentBookings = bookingDAO.getRecentBookings(5);
             summary.put("recentBookings", recentBookings);
             
             return ResponseEntity.ok(summary);
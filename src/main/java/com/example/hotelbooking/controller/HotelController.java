@@ -1,10 +1,11 @@
 package com.example.hotelbooking.controller;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -15,12 +16,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hotelbooking.dao.HotelDAO;
+import com.example.hotelbooking.dao.Page;
+import com.example.hotelbooking.dao.PageRequest;
+import com.example.hotelbooking.dto.HotelSummary;
 import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.service.CatalogSearchIndex;
+import com.example.hotelbooking.service.CatalogVersions;
+import com.example.hotelbooking.util.ETags;
 
 @RestController
 @RequestMapping("/api/hotels")
@@ -30,38 +38,44 @@ public class HotelController {
     @Autowired
     private HotelDAO hotelDAO;
 
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getHotels(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "") String search) {
+            @RequestParam(defaultValue = "") String search,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Hotel> hotels = hotelDAO.getAllHotels();
-            long total = hotels.size();
-            
-            // Filter by search if provided
-            if (!search.isEmpty()) {
-                hotels = hotels.stream()
-                    .filter(hotel -> 
-                        hotel.getName().toLowerCase().contains(search.toLowerCase()) ||
-                        hotel.getAddress().toLowerCase().contains(search.toLowerCase()))
-                    .collect(java.util.stream.Collectors.toList());
-                total = hotels.size();
+            // Read before the page is built, so the tag is never newer than the content
+            CatalogVersions.Version version = catalogVersions.getHotels();
+            String etag = version.getETag();
+            long lastModified = version.getLastModified();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified)
+                        .cacheControl(CacheControl.noCache()).build();
             }
             
-            // Simple pagination
-            int start = page * size;
-            int end = Math.min(start + size, hotels.size());
-            List<Hotel> paginatedHotels = hotels.subList(start, end);
+            // Searches are answered from the in-memory index; listing and fallback run in the database
+            PageRequest pageRequest = PageRequest.of(page, size);
+            Page<HotelSummary> hotels = search.isEmpty() ? null : catalogSearchIndex.searchHotels(search, pageRequest);
+            if (hotels == null) {
+                hotels = hotelDAO.getHotels(search, pageRequest);
+            }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("hotels", paginatedHotels);
-            response.put("totalElements", total);
-            response.put("totalPages", (int) Math.ceil((double) total / size));
-            response.put("currentPage", page);
-            response.put("size", size);
+            response.put("hotels", hotels.getContent());
+            response.put("totalElements", hotels.getTotalElements());
+            response.put("totalPages", hotels.getTotalPages());
+            response.put("currentPage", hotels.getPage());
+            response.put("size", hotels.getSize());
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag).lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache()).body(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch hotels");
@@ -150,7 +164,10 @@ public class HotelController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+            // Partial update: fields the client left out keep their stored values, so a list item
+            // sent back from the edit form cannot blank out columns the list does not carry
             hotel.setId(id);
+            mergeMissingFields(hotel, existingHotel);
             hotelDAO.updateHotel(hotel);
             response.put("message", "Hotel updated successfully");
             response.put("hotel", hotel);
@@ -188,4 +205,38 @@ public class HotelController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
-}
\ No newline at end of file
+
+    // Copies onto the request every field it does not set; existing is the cached hotel and is only read
+    private static void mergeMissingFields(Hotel hotel, Hotel existing) {
+        if (hotel.getCity() == null) {
+            hotel.setCity(existing.getCity());
+        }
+        if (hotel.getState() == null) {
+            hotel.setState(existing.getState());
+        }
+        if (hotel.getCountry() == null) {
+            hotel.setCountry(existing.getCountry());
+        }
+        if (hotel.getPostalCode() == null) {
+            hotel.setPostalCode(existing.getPostalCode());
+        }
+        if (hotel.getPhone() == null) {
+            hotel.setPhone(existing.getPhone());
+        }
+        if (hotel.getEmail() == null) {
+            hotel.setEmail(existing.getEmail());
+        }
+        if (hotel.getDescription() == null) {
+            hotel.setDescription(existing.getDescription());
+        }
+        if (hotel.getStarRating() == null) {
+            hotel.setStarRating(existing.getStarRating());
+        }
+        if (hotel.getManagerId() == null) {
+            hotel.setManagerId(existing.getManagerId());
+        }
+        if (hotel.getIsActive() == null) {
+            hotel.setIsActive(existing.getIsActive());
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.hotelbooking.controller;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -15,12 +19,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hotelbooking.dao.RoomDAO;
+import com.example.hotelbooking.dao.Page;
+import com.example.hotelbooking.dao.PageRequest;
+import com.example.hotelbooking.dto.AvailabilitySearchResult;
 import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.service.AvailabilitySearchService;
+import com.example.hotelbooking.service.CatalogSearchIndex;
+import com.example.hotelbooking.service.CatalogVersions;
+import com.example.hotelbooking.service.RoomAvailabilityIndex;
+import com.example.hotelbooking.service.RoomCalendarCache;
+import com.example.hotelbooking.service.RoomInventoryCounters;
+import com.example.hotelbooking.util.ETags;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -30,47 +45,54 @@ public class RoomController {
     @Autowired
     private RoomDAO roomDAO;
 
+    @Autowired
+    private AvailabilitySearchService availabilitySearchService;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private RoomCalendarCache calendarCache;
+
+    @Autowired
+    private RoomInventoryCounters inventoryCounters;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> getRooms(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String search,
-            @RequestParam(defaultValue = "0") int hotelId) {
+            @RequestParam(defaultValue = "0") int hotelId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Room> rooms;
-            
-            if (hotelId > 0) {
-                rooms = roomDAO.getRoomsByHotelId(hotelId);
-            } else {
-                rooms = roomDAO.getAllRooms();
+            // Read before the page is built, so the tag is never newer than the content
+            CatalogVersions.Version version = catalogVersions.getRooms();
+            String etag = version.getETag();
+            long lastModified = version.getLastModified();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified)
+                        .cacheControl(CacheControl.noCache()).build();
             }
             
-            long total = rooms.size();
-            
-            // Filter by search if provided
-            if (!search.isEmpty()) {
-                rooms = rooms.stream()
-                    .filter(room -> 
-                        room.getRoomNumber().toLowerCase().contains(search.toLowerCase()) ||
-                        room.getRoomType().toLowerCase().contains(search.toLowerCase()) ||
-                        room.getAmenities().toLowerCase().contains(search.toLowerCase()))
-                    .collect(java.util.stream.Collectors.toList());
-                total = rooms.size();
+            // Searches are answered from the in-memory index; listing and fallback run in the database
+            PageRequest pageRequest = PageRequest.of(page, size);
+            Page<Room> rooms = search.isEmpty() ? null : catalogSearchIndex.searchRooms(hotelId, search, pageRequest);
+            if (rooms == null) {
+                rooms = roomDAO.getRooms(hotelId, search, pageRequest);
             }
             
-            // Simple pagination
-            int start = page * size;
-            int end = Math.min(start + size, rooms.size());
-            List<Room> paginatedRooms = rooms.subList(start, end);
-            
             Map<String, Object> response = new HashMap<>();
-            response.put("rooms", paginatedRooms);
-            response.put("totalElements", total);
-            response.put("totalPages", (int) Math.ceil((double) total / size));
-            response.put("currentPage", page);
-            response.put("size", size);
+            response.put("rooms", rooms.getContent());
+            response.put("totalElements", rooms.getTotalElements());
+            response.put("totalPages", rooms.getTotalPages());
+            response.put("currentPage", rooms.getPage());
+            response.put("size", rooms.getSize());
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag).lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache()).body(response);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch rooms");
@@ -79,6 +101,55 @@ public class RoomController {
         }
     }
 
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> searchAvailability(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "") String city,
+            @RequestParam(defaultValue = "") String roomType,
+            @RequestParam(defaultValue = "1") int guests,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            // Validation
+            if (checkIn == null || checkOut == null) {
+                response.put("error", "Check-in and check-out dates are required");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (!checkOut.isAfter(checkIn)) {
+                response.put("error", "Check-out date must be after check-in date");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (guests <= 0) {
+                response.put("error", "At least 1 guest is required");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            if (page < 0 || size <= 0 || size > 100) {
+                response.put("error", "Page must be >= 0 and size between 1 and 100");
+                return ResponseEntity.badRequest().body(response);
+            }
+
+            AvailabilitySearchResult result = availabilitySearchService.search(
+                    checkIn, checkOut, city, roomType, guests, page, size);
+            response.put("rooms", result.getRooms());
+            response.put("totalElements", result.getTotalElements());
+            response.put("totalPages", (int) Math.ceil((double) result.getTotalElements() / size));
+            response.put("currentPage", page);
+            response.put("size", size);
+            response.put("hotelsSearched", result.getHotelsSearched());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Error searching room availability");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Map<String, Object>> addRoom(@RequestBody Room room) {
         Map<String, Object> response = new HashMap<>();
@@ -232,8 +303,68 @@ public class RoomController {
         }
     }
 
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<Map<String, Object>> getRoomCalendar(
+            @PathVariable int id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(defaultValue = "bitset") String format) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (id <= 0) {
+                response.put("error", "Invalid room ID");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            if (months <= 0 || months > 24) {
+                response.put("error", "Months must be between 1 and 24");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            if (!"bitset".equals(format) && !"runs".equals(format)) {
+                response.put("error", "Format must be bitset or runs");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+            LocalDate end = start.plusMonths(months);
+            if (!RoomAvailabilityIndex.isWithinRange(start, end)) {
+                response.put("error", "Calendar range is out of bounds");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            Room room = roomDAO.getRoomById(id);
+            if (room == null) {
+                response.put("error", "Room not found");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            
+            int first = RoomAvailabilityIndex.nightOf(start);
+            int last = RoomAvailabilityIndex.nightOf(end);
+            response.put("roomId", id);
+            response.put("from", start.toString());
+            response.put("days", last - first);
+            response.put("format", format);
+            // bitset: base64, bit i (least significant first) set when night from + i is booked
+            // runs: [offset, length] pairs of booked nights
+            if ("bitset".equals(format)) {
+                response.put("booked", calendarCache.encodeBitset(id, first, last));
+            } else {
+                response.put("booked", calendarCache.encodeRuns(id, first, last));
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Error fetching room calendar");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<Map<String, Object>> getRoomsByHotelId(@PathVariable int hotelId) {
+    public ResponseEntity<Map<String, Object>> getRoomsByHotelId(
+            @PathVariable int hotelId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Map<String, Object> response = new HashMap<>();
         
         try {
@@ -242,14 +373,59 @@ public class RoomController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+            CatalogVersions.Version version = catalogVersions.getRooms();
+            String etag = version.getETag();
+            long lastModified = version.getLastModified();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified)
+                        .cacheControl(CacheControl.noCache()).build();
+            }
+            
             List<Room> rooms = roomDAO.getRoomsByHotelId(hotelId);
             response.put("rooms", rooms);
             response.put("totalElements", rooms.size());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag).lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache()).body(response);
         } catch (Exception e) {
             response.put("error", "Error fetching hotel rooms");
             response.put("message", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    @GetMapping("/hotel/{hotelId}/inventory")
+    public ResponseEntity<Map<String, Object>> getHotelInventory(
+            @PathVariable int hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "90") int days) {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            if (hotelId <= 0) {
+                response.put("error", "Invalid hotel ID");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            if (days <= 0 || days > 366) {
+                response.put("error", "Days must be between 1 and 366");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            LocalDate start = from != null ? from : LocalDate.now();
+            if (!RoomAvailabilityIndex.isWithinRange(start, start.plusDays(days))) {
+                response.put("error", "Inventory range is out of bounds");
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+            response.put("hotelId", hotelId);
+            response.put("from", start.toString());
+            response.put("days", days);
+            response.put("freeRooms", inventoryCounters.getFreeRooms(hotelId, start, days));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            response.put("error", "Error fetching hotel inventory");
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
 }
\ No newline at end of file
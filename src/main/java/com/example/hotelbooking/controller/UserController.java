@@ -15,7 +15,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.hotelbooking.dao.UserDAO;
-import com.example.hotelbooking.model.User;
+import com.example.hotelbooking.dto.UserPrincipal;
+import com.example.hotelbooking.dto.UserSummary;
 
 @RestController
 @RequestMapping("/api/users")
@@ -28,7 +29,7 @@ public class UserController {
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllUsers() {
         try {
-            List<User> users = userDAO.getAllUsers();
+            List<UserSummary> users = userDAO.getUserSummaries();
             Map<String, Object> response = new HashMap<>();
             response.put("users", users);
             response.put("totalElements", users.size());
@@ -51,14 +52,13 @@ public class UserController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            User user = userDAO.getUserById(id);
+            // Cached principal, never carries the password
+            UserPrincipal user = userDAO.getPrincipalById(id);
             if (user == null) {
                 response.put("error", "User not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            // Remove password from response for security
-            user.setPassword(null);
             response.put("user", user);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -69,19 +69,18 @@ public class UserController {
     }
 
     @GetMapping("/by-username/{username}")
-    public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
+    public ResponseEntity<UserPrincipal> getUserByUsername(@PathVariable String username) {
         try {
             if (username == null || username.trim().isEmpty()) {
                 return ResponseEntity.badRequest().build();
             }
             
-            User user = userDAO.findByUsername(username);
+            // Cached principal, never carries the password
+            UserPrincipal user = userDAO.getPrincipalByUsername(username);
             if (user == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            // Remove password from response for security
-            user.setPassword(null);
             return ResponseEntity.ok(user);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -1,35 +1,150 @@
 package com.example.hotelbooking.dao;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.hotelbooking.dto.BatchBookingResult;
+import com.example.hotelbooking.dto.BookingStatusBreakdown;
+import com.example.hotelbooking.dto.BookingSummary;
+import com.example.hotelbooking.event.BookingChanged;
+import com.example.hotelbooking.event.BookingTotalsChanged;
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.exception.BookingConflictException;
+import com.example.hotelbooking.exception.InvalidBookingException;
+import com.example.hotelbooking.exception.ResourceNotFoundException;
 import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.BookingStatus;
+import com.example.hotelbooking.model.RoomHold;
+import com.example.hotelbooking.service.RoomAvailabilityIndex;
+import com.example.hotelbooking.service.RoomHoldManager;
+import com.example.hotelbooking.util.NightBitSet;
+import com.example.hotelbooking.util.StripedLock;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 @Repository
 public class BookingDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RoomHoldManager holdManager;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    // MySQL only streams a result set with Integer.MIN_VALUE; other drivers take a positive batch size
+    @Value("${booking.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    // Statuses that keep a room occupied, shared with availability search
+    private static final String BLOCKING_STATUSES = BookingStatus.BLOCKING_SQL;
+
+    private final StripedLock roomLocks = new StripedLock(256);
+
+    // Last state this node read or wrote per booking, with its version. Only trusted together with a write
+    // guarded by that version, so it needs no invalidation: a stale entry just fails the guard.
+    private final Cache<Integer, StoredBooking> knownStates = Caffeine.newBuilder().maximumSize(10_000).build();
+
     public List<Booking> getAllBookings() {
         String sql = "SELECT * FROM bookings ORDER BY created_at DESC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Booking b = new Booking();
-            b.setId(rs.getInt("id"));
-            b.setCustomerId(rs.getInt("customer_id"));
-            b.setHotelId(rs.getInt("hotel_id"));
-            b.setRoomId(rs.getObject("room_id", Integer.class));
-            b.setCheckInDate(rs.getDate("check_in_date"));
-            b.setCheckOutDate(rs.getDate("check_out_date"));
-            b.setBookingDate(rs.getTimestamp("booking_date"));
-            b.setTotalAmount(rs.getObject("total_amount", Double.class));
-            b.setStatus(rs.getString("status"));
-            b.setSpecialRequests(rs.getString("special_requests"));
-            b.setCreatedAt(rs.getTimestamp("created_at"));
-            b.setUpdatedAt(rs.getTimestamp("updated_at"));
-            return b;
+        return jdbcTemplate.query(sql, BookingRowMapper.INSTANCE);
+    }
+
+    // One page, newest first; the tie-break on id keeps pages stable when created_at repeats
+    public Page<BookingSummary> getBookings(PageRequest pageRequest) {
+        String sql = "SELECT " + BookingSummaryRowMapper.COLUMNS + " FROM bookings ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?";
+        List<BookingSummary> bookings = jdbcTemplate.query(sql, BookingSummaryRowMapper.INSTANCE, pageRequest.getSize(), pageRequest.getOffset());
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class);
+        return new Page<>(bookings, total != null ? total : 0, pageRequest);
+    }
+
+    // Keyset scan, newest first: each slice seeks straight past the cursor on idx_booking_created,
+    // so latency does not grow with depth the way OFFSET does
+    public CursorPage<BookingSummary> getBookingsAfter(String cursor, int size) {
+        int limit = Math.min(Math.max(1, size), PageRequest.MAX_SIZE);
+        String sql = "SELECT " + BookingSummaryRowMapper.COLUMNS + " FROM bookings";
+        List<Object> args = new ArrayList<>();
+        if (cursor != null && !cursor.isEmpty()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            sql += " WHERE (created_at, id) < (?, ?)";
+            args.add(position.getCreatedAt());
+            args.add(position.getId());
+        }
+        sql += " ORDER BY created_at DESC, id DESC LIMIT ?";
+        // One extra row tells whether another slice follows
+        args.add(limit + 1);
+        List<BookingSummary> bookings = jdbcTemplate.query(sql, BookingSummaryRowMapper.INSTANCE, args.toArray());
+
+        if (bookings.size() <= limit) {
+            return new CursorPage<>(bookings, null);
+        }
+        List<BookingSummary> slice = bookings.subList(0, limit);
+        BookingSummary last = slice.get(limit - 1);
+        String next = new KeysetCursor((Timestamp) last.getCreatedAt(), last.getId()).encode();
+        return new CursorPage<>(new ArrayList<>(slice), next);
+    }
+
+    // Streams every matching booking to the consumer one row at a time; nothing is collected, so heap use
+    // does not depend on the table size. from/to bound created_at, half-open; any filter may be null.
+    public void exportBookings(LocalDate from, LocalDate to, String status, Consumer<Booking> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM bookings WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(to.atStartOfDay()));
+        }
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status);
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportFetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, new RowCallbackHandler() {
+            private int rowNum;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                consumer.accept(BookingRowMapper.INSTANCE.mapRow(rs, rowNum++));
+            }
         });
     }
 
@@ -38,27 +153,288 @@ public class BookingDAO {
         jdbcTemplate.update(sql, booking.getCustomerId(), booking.getHotelId(), booking.getRoomId(),
                            booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalAmount(),
                            booking.getStatus() != null ? booking.getStatus() : "PENDING", booking.getSpecialRequests());
+        eventBus.publish(changeOf(booking));
+        eventBus.publish(totalsOf(booking));
+    }
+
+    // Overlap check and insert in one transaction: the stripe lock serialises callers in this JVM,
+    // the room row lock serialises them across nodes sharing the database.
+    public int reserveBooking(Booking booking) {
+        return reserveBooking(booking, null);
+    }
+
+    // holdId is the caller's own hold on the room, if any; it is released once the booking is written
+    public int reserveBooking(Booking booking, String holdId) {
+        checkHoldMatches(holdId, booking);
+        int roomId = booking.getRoomId();
+        Lock lock = roomLocks.forKey(roomId);
+        lock.lock();
+        try {
+            Integer id = transactionTemplate.execute(status -> {
+                lockRoomRow(roomId);
+                if (hasOverlappingBooking(roomId, booking.getCheckInDate(), booking.getCheckOutDate())) {
+                    throw new BookingConflictException("Room " + roomId + " is already booked for the selected dates");
+                }
+                if (holdManager.isHeld(roomId, booking.getCheckInDate(), booking.getCheckOutDate(), holdId)) {
+                    throw new BookingConflictException("Room " + roomId + " is held by another guest for the selected dates");
+                }
+                return insertBooking(booking);
+            });
+            booking.setId(id);
+            booking.setVersion(0);
+        } finally {
+            lock.unlock();
+        }
+        if (booking.getStatus() == null) {
+            booking.setStatus("PENDING"); // As insertBooking stored it
+        }
+        remember(booking);
+        holdManager.release(holdId);
+        eventBus.publish(changeOf(booking));
+        eventBus.publish(totalsOf(booking));
+        return booking.getId();
+    }
+
+    // A hold is only consumed by the booking it was placed for; an expired or unknown hold consumes nothing
+    private void checkHoldMatches(String holdId, Booking booking) {
+        RoomHold hold = holdManager.getHold(holdId);
+        if (hold == null) {
+            return;
+        }
+        boolean matches = hold.getRoomId() == booking.getRoomId()
+                && hold.getHotelId() == booking.getHotelId()
+                && hold.getCustomerId() == booking.getCustomerId()
+                && RoomAvailabilityIndex.toLocalDate(hold.getCheckInDate()).equals(RoomAvailabilityIndex.toLocalDate(booking.getCheckInDate()))
+                && RoomAvailabilityIndex.toLocalDate(hold.getCheckOutDate()).equals(RoomAvailabilityIndex.toLocalDate(booking.getCheckOutDate()));
+        if (!matches) {
+            throw new InvalidBookingException("Hold " + holdId + " does not match the booking's room, dates or customer");
+        }
     }
 
+    // Holds take the same stripe and row lock as reservations, so a hold never covers a booked night
+    public RoomHold placeHold(RoomHold hold, long ttlSeconds) {
+        int roomId = hold.getRoomId();
+        Lock lock = roomLocks.forKey(roomId);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                int hotelId = lockRoomRow(roomId);
+                if (hotelId != hold.getHotelId()) {
+                    throw new InvalidBookingException("Room " + roomId + " does not belong to hotel " + hold.getHotelId());
+                }
+                if (hasOverlappingBooking(roomId, hold.getCheckInDate(), hold.getCheckOutDate())) {
+                    throw new BookingConflictException("Room " + roomId + " is already booked for the selected dates");
+                }
+                return holdManager.place(hold, ttlSeconds);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Group reservation: one availability pass and one batched insert inside a single transaction.
+    // Bookings are keyed by their position in the request so results can be reported per item.
+    public BatchBookingResult reserveBookings(Map<Integer, Booking> bookings, boolean allOrNothing) {
+        BatchBookingResult result = new BatchBookingResult();
+        if (bookings.isEmpty()) {
+            return result;
+        }
+        List<Integer> roomIds = bookings.values().stream().map(Booking::getRoomId).distinct().sorted().collect(Collectors.toList());
+
+        // Take stripes in ascending order so concurrent batches cannot deadlock
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Integer roomId : roomIds) {
+            stripes.add(roomLocks.indexFor(roomId));
+        }
+        List<Lock> held = new ArrayList<>(stripes.size());
+        try {
+            for (Integer stripe : stripes) {
+                Lock lock = roomLocks.stripe(stripe);
+                lock.lock();
+                held.add(lock);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Integer, Integer> roomHotels = lockRoomRows(roomIds);
+                Map<Integer, Booking> accepted = checkBatchAvailability(bookings, roomHotels, result);
+                if (allOrNothing && result.getRejectedCount() > 0) {
+                    return;
+                }
+                List<Integer> ids = insertBookings(new ArrayList<>(accepted.values()));
+                int i = 0;
+                for (Map.Entry<Integer, Booking> entry : accepted.entrySet()) {
+                    entry.getValue().setId(ids.get(i++));
+                    entry.getValue().setVersion(0);
+                    result.accept(entry.getKey(), entry.getValue().getId());
+                }
+            });
+        } finally {
+            Collections.reverse(held);
+            held.forEach(Lock::unlock);
+        }
+        for (BatchBookingResult.Item item : result.getItems()) {
+            if (item.isAccepted()) {
+                eventBus.publish(changeOf(bookings.get(item.getIndex())));
+                eventBus.publish(totalsOf(bookings.get(item.getIndex())));
+            }
+        }
+        return result;
+    }
+
+    private Map<Integer, Integer> lockRoomRows(List<Integer> roomIds) {
+        String placeholders = roomIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        String sql = "SELECT id, hotel_id FROM rooms WHERE id IN (" + placeholders + ") AND is_active = true ORDER BY id FOR UPDATE";
+        Map<Integer, Integer> roomHotels = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            roomHotels.put(rs.getInt("id"), rs.getInt("hotel_id"));
+        }, roomIds.toArray());
+        return roomHotels;
+    }
+
+    // Loads every blocking booking for the batch's rooms in one query, then checks items in request
+    // order against it, marking accepted nights so overlaps inside the batch are caught too.
+    private Map<Integer, Booking> checkBatchAvailability(Map<Integer, Booking> bookings, Map<Integer, Integer> roomHotels,
+                                                         BatchBookingResult result) {
+        LocalDate first = null;
+        LocalDate last = null;
+        for (Booking booking : bookings.values()) {
+            LocalDate checkIn = RoomAvailabilityIndex.toLocalDate(booking.getCheckInDate());
+            LocalDate checkOut = RoomAvailabilityIndex.toLocalDate(booking.getCheckOutDate());
+            first = first == null || checkIn.isBefore(first) ? checkIn : first;
+            last = last == null || checkOut.isAfter(last) ? checkOut : last;
+        }
+        long base = first.toEpochDay();
+
+        Map<Integer, NightBitSet> occupied = new HashMap<>();
+        if (!roomHotels.isEmpty()) {
+            List<Integer> lockedRooms = new ArrayList<>(roomHotels.keySet());
+            String placeholders = lockedRooms.stream().map(id -> "?").collect(Collectors.joining(", "));
+            String sql = "SELECT room_id, check_in_date, check_out_date FROM bookings WHERE room_id IN (" + placeholders + ") " +
+                        "AND status IN " + BLOCKING_STATUSES + " AND check_in_date < ? AND check_out_date > ?";
+            List<Object> args = new ArrayList<>(lockedRooms);
+            args.add(java.sql.Date.valueOf(last));
+            args.add(java.sql.Date.valueOf(first));
+            jdbcTemplate.query(sql, rs -> {
+                int from = (int) Math.max(0, rs.getDate("check_in_date").toLocalDate().toEpochDay() - base);
+                int to = (int) (rs.getDate("check_out_date").toLocalDate().toEpochDay() - base);
+                occupied.computeIfAbsent(rs.getInt("room_id"), k -> new NightBitSet()).set(from, to);
+            }, args.toArray());
+        }
+
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Booking> entry : bookings.entrySet()) {
+            Booking booking = entry.getValue();
+            Integer hotelId = roomHotels.get(booking.getRoomId());
+            if (hotelId == null) {
+                result.reject(entry.getKey(), "Room not found: " + booking.getRoomId());
+                continue;
+            }
+            if (hotelId != booking.getHotelId()) {
+                result.reject(entry.getKey(), "Room " + booking.getRoomId() + " does not belong to hotel " + booking.getHotelId());
+                continue;
+            }
+            int from = (int) (RoomAvailabilityIndex.toLocalDate(booking.getCheckInDate()).toEpochDay() - base);
+            int to = (int) (RoomAvailabilityIndex.toLocalDate(booking.getCheckOutDate()).toEpochDay() - base);
+            NightBitSet nights = occupied.computeIfAbsent(booking.getRoomId(), k -> new NightBitSet());
+            if (nights.intersects(from, to)) {
+                result.reject(entry.getKey(), "Room " + booking.getRoomId() + " is already booked for the selected dates");
+                continue;
+            }
+            if (holdManager.isHeld(booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate(), null)) {
+                result.reject(entry.getKey(), "Room " + booking.getRoomId() + " is held by another guest for the selected dates");
+                continue;
+            }
+            nights.set(from, to);
+            accepted.put(entry.getKey(), booking);
+        }
+        return accepted;
+    }
+
+    private List<Integer> insertBookings(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "INSERT INTO bookings(customer_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, special_requests) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        return jdbcTemplate.execute((PreparedStatementCreator) con -> con.prepareStatement(sql, new String[] {"id"}), ps -> {
+            for (Booking booking : bookings) {
+                ps.setInt(1, booking.getCustomerId());
+                ps.setInt(2, booking.getHotelId());
+                ps.setObject(3, booking.getRoomId());
+                ps.setDate(4, new java.sql.Date(booking.getCheckInDate().getTime()));
+                ps.setDate(5, new java.sql.Date(booking.getCheckOutDate().getTime()));
+                ps.setObject(6, booking.getTotalAmount());
+                ps.setString(7, booking.getStatus() != null ? booking.getStatus() : "PENDING");
+                ps.setString(8, booking.getSpecialRequests());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            List<Integer> ids = new ArrayList<>(bookings.size());
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getInt(1));
+                }
+            }
+            return ids;
+        });
+    }
+
+    // Returns the room's hotel id
+    private int lockRoomRow(int roomId) {
+        String sql = "SELECT hotel_id FROM rooms WHERE id = ? AND is_active = true FOR UPDATE";
+        List<Integer> rooms = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getInt("hotel_id"), roomId);
+        if (rooms.isEmpty()) {
+            throw new InvalidBookingException("Room not found: " + roomId);
+        }
+        return rooms.get(0);
+    }
+
+    private boolean hasOverlappingBooking(int roomId, java.util.Date checkIn, java.util.Date checkOut) {
+        String sql = "SELECT COUNT(*) FROM bookings WHERE room_id = ? AND status IN " + BLOCKING_STATUSES +
+                    " AND check_in_date < ? AND check_out_date > ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, roomId,
+                new java.sql.Date(checkOut.getTime()), new java.sql.Date(checkIn.getTime()));
+        return count != null && count > 0;
+    }
+
+    // Same check for a booking being moved, which must not conflict with itself
+    private boolean hasOverlappingBooking(int roomId, java.util.Date checkIn, java.util.Date checkOut, int excludeBookingId) {
+        String sql = "SELECT COUNT(*) FROM bookings WHERE room_id = ? AND status IN " + BLOCKING_STATUSES +
+                    " AND check_in_date < ? AND check_out_date > ? AND id <> ?";
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, roomId,
+                new java.sql.Date(checkOut.getTime()), new java.sql.Date(checkIn.getTime()), excludeBookingId);
+        return count != null && count > 0;
+    }
+
+    // Matches BLOCKING_STATUSES; a missing status is treated as blocking
+    private static boolean blocksRoom(String status) {
+        BookingStatus known = BookingStatus.fromString(status);
+        return status == null || (known != null && known.isBlocking());
+    }
+
+    private int insertBooking(Booking booking) {
+        String sql = "INSERT INTO bookings(customer_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, special_requests) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, new String[] {"id"});
+            ps.setInt(1, booking.getCustomerId());
+            ps.setInt(2, booking.getHotelId());
+            ps.setObject(3, booking.getRoomId());
+            ps.setDate(4, new java.sql.Date(booking.getCheckInDate().getTime()));
+            ps.setDate(5, new java.sql.Date(booking.getCheckOutDate().getTime()));
+            ps.setObject(6, booking.getTotalAmount());
+            ps.setString(7, booking.getStatus() != null ? booking.getStatus() : "PENDING");
+            ps.setString(8, booking.getSpecialRequests());
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().intValue();
+    }
+
+    // Remembers what it read, so an edit sent back with this version needs no second read
     public Booking getBookingById(int id) {
         String sql = "SELECT * FROM bookings WHERE id = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                Booking b = new Booking();
-                b.setId(rs.getInt("id"));
-                b.setCustomerId(rs.getInt("customer_id"));
-                b.setHotelId(rs.getInt("hotel_id"));
-                b.setRoomId(rs.getObject("room_id", Integer.class));
-                b.setCheckInDate(rs.getDate("check_in_date"));
-                b.setCheckOutDate(rs.getDate("check_out_date"));
-                b.setBookingDate(rs.getTimestamp("booking_date"));
-                b.setTotalAmount(rs.getObject("total_amount", Double.class));
-                b.setStatus(rs.getString("status"));
-                b.setSpecialRequests(rs.getString("special_requests"));
-                b.setCreatedAt(rs.getTimestamp("created_at"));
-                b.setUpdatedAt(rs.getTimestamp("updated_at"));
-                return b;
-            }, id);
+            Booking booking = jdbcTemplate.queryForObject(sql, BookingRowMapper.INSTANCE, id);
+            remember(booking);
+            return booking;
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
@@ -66,59 +442,154 @@ public class BookingDAO {
 
     public List<Booking> getBookingsByCustomerId(int customerId) {
         String sql = "SELECT * FROM bookings WHERE customer_id = ? ORDER BY created_at DESC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Booking b = new Booking();
-            b.setId(rs.getInt("id"));
-            b.setCustomerId(rs.getInt("customer_id"));
-            b.setHotelId(rs.getInt("hotel_id"));
-            b.setRoomId(rs.getObject("room_id", Integer.class));
-            b.setCheckInDate(rs.getDate("check_in_date"));
-            b.setCheckOutDate(rs.getDate("check_out_date"));
-            b.setBookingDate(rs.getTimestamp("booking_date"));
-            b.setTotalAmount(rs.getObject("total_amount", Double.class));
-            b.setStatus(rs.getString("status"));
-            b.setSpecialRequests(rs.getString("special_requests"));
-            b.setCreatedAt(rs.getTimestamp("created_at"));
-            b.setUpdatedAt(rs.getTimestamp("updated_at"));
-            return b;
-        }, customerId);
+        return jdbcTemplate.query(sql, BookingRowMapper.INSTANCE, customerId);
     }
 
     public List<Booking> getBookingsByHotelId(int hotelId) {
         String sql = "SELECT * FROM bookings WHERE hotel_id = ? ORDER BY created_at DESC";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Booking b = new Booking();
-            b.setId(rs.getInt("id"));
-            b.setCustomerId(rs.getInt("customer_id"));
-            b.setHotelId(rs.getInt("hotel_id"));
-            b.setRoomId(rs.getObject("room_id", Integer.class));
-            b.setCheckInDate(rs.getDate("check_in_date"));
-            b.setCheckOutDate(rs.getDate("check_out_date"));
-            b.setBookingDate(rs.getTimestamp("booking_date"));
-            b.setTotalAmount(rs.getObject("total_amount", Double.class));
-            b.setStatus(rs.getString("status"));
-            b.setSpecialRequests(rs.getString("special_requests"));
-            b.setCreatedAt(rs.getTimestamp("created_at"));
-            b.setUpdatedAt(rs.getTimestamp("updated_at"));
-            return b;
-        }, hotelId);
+        return jdbcTemplate.query(sql, BookingRowMapper.INSTANCE, hotelId);
     }
 
+    // Conditional on the version the caller read; a null version keeps the old last-writer-wins update.
+    // A booking that holds its room is checked for overlaps under the same locks as a reservation,
+    // so moving it to another room or other dates cannot double-book.
     public void updateBooking(Booking booking) {
-        String sql = "UPDATE bookings SET customer_id = ?, hotel_id = ?, room_id = ?, check_in_date = ?, check_out_date = ?, total_amount = ?, status = ?, special_requests = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
-        jdbcTemplate.update(sql, booking.getCustomerId(), booking.getHotelId(), booking.getRoomId(),
+        Integer expectedVersion = booking.getVersion();
+        StoredBooking previous;
+        Integer roomId = booking.getRoomId();
+        if (roomId != null && blocksRoom(booking.getStatus())) {
+            Lock lock = roomLocks.forKey(roomId);
+            lock.lock();
+            try {
+                previous = transactionTemplate.execute(status -> {
+                    lockRoomRow(roomId);
+                    if (hasOverlappingBooking(roomId, booking.getCheckInDate(), booking.getCheckOutDate(), booking.getId())) {
+                        throw new BookingConflictException("Room " + roomId + " is already booked for the selected dates");
+                    }
+                    if (holdManager.isHeld(roomId, booking.getCheckInDate(), booking.getCheckOutDate(), null)) {
+                        throw new BookingConflictException("Room " + roomId + " is held by another guest for the selected dates");
+                    }
+                    return replace(booking.getId(), expectedVersion, version -> writeBooking(booking, version));
+                });
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            previous = replace(booking.getId(), expectedVersion, version -> writeBooking(booking, version));
+        }
+        booking.setVersion(previous.version + 1);
+        remember(booking);
+        // The old room and dates are released as well when the booking moved
+        eventBus.publish(previous.change);
+        eventBus.publish(BookingTotalsChanged.of(previous.status, previous.totalAmount,
+                booking.getStatus(), booking.getTotalAmount()));
+        eventBus.publish(changeOf(booking));
+    }
+
+    // A null version writes unconditionally
+    private int writeBooking(Booking booking, Integer version) {
+        String sql = "UPDATE bookings SET customer_id = ?, hotel_id = ?, room_id = ?, check_in_date = ?, check_out_date = ?, total_amount = ?, status = ?, special_requests = ?, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ?";
+        if (version == null) {
+            return jdbcTemplate.update(sql, booking.getCustomerId(), booking.getHotelId(), booking.getRoomId(),
+                               booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalAmount(),
+                               booking.getStatus(), booking.getSpecialRequests(), booking.getId());
+        }
+        return jdbcTemplate.update(sql + " AND version = ?", booking.getCustomerId(), booking.getHotelId(), booking.getRoomId(),
                            booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalAmount(),
-                           booking.getStatus(), booking.getSpecialRequests(), booking.getId());
+                           booking.getStatus(), booking.getSpecialRequests(), booking.getId(), version);
     }
 
     public void updateBookingStatus(int bookingId, String status) {
-        String sql = "UPDATE bookings SET status = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
-        jdbcTemplate.update(sql, status, bookingId);
+        updateBookingStatus(bookingId, status, null);
     }
 
+    // Room and dates do not change here
+    public void updateBookingStatus(int bookingId, String status, Integer expectedVersion) {
+        String sql = "UPDATE bookings SET status = ?, updated_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ?";
+        StoredBooking previous = replace(bookingId, expectedVersion, version -> version == null
+                ? jdbcTemplate.update(sql, status, bookingId)
+                : jdbcTemplate.update(sql + " AND version = ?", status, bookingId, version));
+        knownStates.put(bookingId, new StoredBooking(previous.change, status, previous.totalAmount, previous.version + 1));
+        eventBus.publish(previous.change);
+        eventBus.publish(BookingTotalsChanged.of(previous.status, previous.totalAmount, status, previous.totalAmount));
+    }
+
+    // Runs a write that the given operator guards by version (null for none) and returns the row it replaced.
+    // With a known state at the expected version that is the only round trip; otherwise the row is read
+    // first for the events, as the old state cannot come back from an UPDATE on MySQL.
+    private StoredBooking replace(int bookingId, Integer expectedVersion, VersionedWrite write) {
+        StoredBooking known = knownStates.getIfPresent(bookingId);
+        if (known != null && (expectedVersion == null || known.version == expectedVersion)) {
+            if (write.apply(known.version) > 0) {
+                return known;
+            }
+            if (expectedVersion != null) {
+                checkUpdated(0, bookingId, expectedVersion);
+            }
+        }
+        // Nothing known, or the row moved past the known version under a last-writer-wins caller
+        StoredBooking previous = getStoredBooking(bookingId);
+        checkUpdated(previous != null ? write.apply(expectedVersion) : 0, bookingId, expectedVersion);
+        return previous;
+    }
+
+    @FunctionalInterface
+    private interface VersionedWrite {
+        int apply(Integer version);
+    }
+
+    // Only a failed update pays for the extra read that tells a missing booking from a stale version
+    private void checkUpdated(int updated, int bookingId, Integer expectedVersion) {
+        if (updated > 0) {
+            return;
+        }
+        List<Integer> versions = jdbcTemplate.query("SELECT version FROM bookings WHERE id = ?",
+                (rs, rowNum) -> rs.getInt("version"), bookingId);
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException("Booking", "id", bookingId);
+        }
+        throw new OptimisticLockingFailureException("Booking " + bookingId + " was modified concurrently: expected version "
+                + expectedVersion + " but found " + versions.get(0));
+    }
+
+    // Throws ResourceNotFoundException when there is no such booking
     public void deleteBooking(int id) {
         String sql = "DELETE FROM bookings WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+        StoredBooking previous = replace(id, null, version -> version == null
+                ? jdbcTemplate.update(sql, id)
+                : jdbcTemplate.update(sql + " AND version = ?", id, version));
+        knownStates.invalidate(id);
+        eventBus.publish(previous.change);
+        eventBus.publish(BookingTotalsChanged.of(previous.status, previous.totalAmount, null, null));
+    }
+
+    private BookingChanged changeOf(Booking booking) {
+        return new BookingChanged(booking.getId(), booking.getHotelId(), booking.getRoomId(),
+                toLocalDate(booking.getCheckInDate()), toLocalDate(booking.getCheckOutDate()));
+    }
+
+    private BookingTotalsChanged totalsOf(Booking booking) {
+        return BookingTotalsChanged.of(null, null,
+                booking.getStatus() != null ? booking.getStatus() : "PENDING", booking.getTotalAmount());
+    }
+
+    // Current room, dates, status and amount of a booking, for the events published when it changes
+    private StoredBooking getStoredBooking(int bookingId) {
+        String sql = "SELECT hotel_id, room_id, check_in_date, check_out_date, status, total_amount, version FROM bookings WHERE id = ?";
+        List<StoredBooking> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new StoredBooking(
+                new BookingChanged(bookingId, rs.getInt("hotel_id"), rs.getObject("room_id", Integer.class),
+                        rs.getDate("check_in_date").toLocalDate(), rs.getDate("check_out_date").toLocalDate()),
+                rs.getString("status"), rs.getObject("total_amount", Double.class), rs.getInt("version")), bookingId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void remember(Booking booking) {
+        knownStates.put(booking.getId(), new StoredBooking(changeOf(booking), booking.getStatus(),
+                booking.getTotalAmount(), booking.getVersion()));
+    }
+
+    private static LocalDate toLocalDate(java.util.Date date) {
+        return date != null ? RoomAvailabilityIndex.toLocalDate(date) : null;
     }
 
     // Dashboard/Analytics methods
@@ -139,23 +610,32 @@ public class BookingDAO {
         return jdbcTemplate.queryForObject(sql, Double.class);
     }
 
-    public List<Booking> getRecentBookings(int limit) {
-        String sql = "SELECT * FROM bookings ORDER BY created_at DESC LIMIT ?";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Booking b = new Booking();
-            b.setId(rs.getInt("id"));
-            b.setCustomerId(rs.getInt("customer_id"));
-            b.setHotelId(rs.getInt("hotel_id"));
-            b.setRoomId(rs.getObject("room_id", Integer.class));
-            b.setCheckInDate(rs.getDate("check_in_date"));
-            b.setCheckOutDate(rs.getDate("check_out_date"));
-            b.setBookingDate(rs.getTimestamp("booking_date"));
-            b.setTotalAmount(rs.getObject("total_amount", Double.class));
-            b.setStatus(rs.getString("status"));
-            b.setSpecialRequests(rs.getString("special_requests"));
-            b.setCreatedAt(rs.getTimestamp("created_at"));
-            b.setUpdatedAt(rs.getTimestamp("updated_at"));
-            return b;
-        }, limit);
-    }
-}
\ No newline at end of file
+    // Count and revenue of every status in one scan, instead of a query per status
+    public BookingStatusBreakdown getStatusBreakdown() {
+        String sql = "SELECT status, COUNT(*) AS bookings, COALESCE(SUM(total_amount), 0) AS revenue FROM bookings GROUP BY status";
+        BookingStatusBreakdown breakdown = new BookingStatusBreakdown();
+        jdbcTemplate.query(sql, rs -> {
+            breakdown.add(BookingStatus.fromString(rs.getString("status")), rs.getLong("bookings"), rs.getDouble("revenue"));
+        });
+        return breakdown;
+    }
+
+    public List<BookingSummary> getRecentBookings(int limit) {
+        String sql = "SELECT " + BookingSummaryRowMapper.COLUMNS + " FROM bookings ORDER BY created_at DESC LIMIT ?";
+        return jdbcTemplate.query(sql, BookingSummaryRowMapper.INSTANCE, limit);
+    }
+
+    private static class StoredBooking {
+        private final BookingChanged change;
+        private final String status;
+        private final Double totalAmount;
+        private final int version;
+
+        StoredBooking(BookingChanged change, String status, Double totalAmount, int version) {
+            this.change = change;
+            this.status = status;
+            this.totalAmount = totalAmount;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.model.Booking;
+
+// Maps a full bookings row; shared by every query that selects all booking columns
+public final class BookingRowMapper extends IndexedRowMapper<Booking> {
+
+    public static final BookingRowMapper INSTANCE = new BookingRowMapper();
+
+    private static final int ID = 0;
+    private static final int CUSTOMER_ID = 1;
+    private static final int HOTEL_ID = 2;
+    private static final int ROOM_ID = 3;
+    private static final int CHECK_IN_DATE = 4;
+    private static final int CHECK_OUT_DATE = 5;
+    private static final int BOOKING_DATE = 6;
+    private static final int TOTAL_AMOUNT = 7;
+    private static final int STATUS = 8;
+    private static final int SPECIAL_REQUESTS = 9;
+    private static final int CREATED_AT = 10;
+    private static final int UPDATED_AT = 11;
+    private static final int VERSION = 12;
+
+    private BookingRowMapper() {
+        super("id", "customer_id", "hotel_id", "room_id", "check_in_date", "check_out_date", "booking_date",
+              "total_amount", "status", "special_requests", "created_at", "updated_at", "version");
+    }
+
+    @Override
+    protected Booking map(ResultSet rs, int[] c) throws SQLException {
+        Booking b = new Booking();
+        b.setId(rs.getInt(c[ID]));
+        b.setCustomerId(rs.getInt(c[CUSTOMER_ID]));
+        b.setHotelId(rs.getInt(c[HOTEL_ID]));
+        b.setRoomId(rs.getObject(c[ROOM_ID], Integer.class));
+        b.setCheckInDate(rs.getDate(c[CHECK_IN_DATE]));
+        b.setCheckOutDate(rs.getDate(c[CHECK_OUT_DATE]));
+        b.setBookingDate(rs.getTimestamp(c[BOOKING_DATE]));
+        b.setTotalAmount(rs.getObject(c[TOTAL_AMOUNT], Double.class));
+        b.setStatus(rs.getString(c[STATUS]));
+        b.setSpecialRequests(rs.getString(c[SPECIAL_REQUESTS]));
+        b.setCreatedAt(rs.getTimestamp(c[CREATED_AT]));
+        b.setUpdatedAt(rs.getTimestamp(c[UPDATED_AT]));
+        b.setVersion(rs.getInt(c[VERSION]));
+        return b;
+    }
+}
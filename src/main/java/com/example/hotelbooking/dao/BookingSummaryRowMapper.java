@@ -0,0 +1,49 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.dto.BookingSummary;
+
+// Maps the narrow booking projection used by list queries
+public final class BookingSummaryRowMapper extends IndexedRowMapper<BookingSummary> {
+
+    public static final BookingSummaryRowMapper INSTANCE = new BookingSummaryRowMapper();
+
+    static final String COLUMNS = "id, customer_id, hotel_id, room_id, check_in_date, check_out_date, " +
+            "booking_date, total_amount, status, created_at, version";
+
+    private static final int ID = 0;
+    private static final int CUSTOMER_ID = 1;
+    private static final int HOTEL_ID = 2;
+    private static final int ROOM_ID = 3;
+    private static final int CHECK_IN_DATE = 4;
+    private static final int CHECK_OUT_DATE = 5;
+    private static final int BOOKING_DATE = 6;
+    private static final int TOTAL_AMOUNT = 7;
+    private static final int STATUS = 8;
+    private static final int CREATED_AT = 9;
+    private static final int VERSION = 10;
+
+    private BookingSummaryRowMapper() {
+        super("id", "customer_id", "hotel_id", "room_id", "check_in_date", "check_out_date", "booking_date",
+              "total_amount", "status", "created_at", "version");
+    }
+
+    @Override
+    protected BookingSummary map(ResultSet rs, int[] c) throws SQLException {
+        BookingSummary b = new BookingSummary();
+        b.setId(rs.getInt(c[ID]));
+        b.setCustomerId(rs.getInt(c[CUSTOMER_ID]));
+        b.setHotelId(rs.getInt(c[HOTEL_ID]));
+        b.setRoomId(rs.getObject(c[ROOM_ID], Integer.class));
+        b.setCheckInDate(rs.getDate(c[CHECK_IN_DATE]));
+        b.setCheckOutDate(rs.getDate(c[CHECK_OUT_DATE]));
+        b.setBookingDate(rs.getTimestamp(c[BOOKING_DATE]));
+        b.setTotalAmount(rs.getObject(c[TOTAL_AMOUNT], Double.class));
+        b.setStatus(rs.getString(c[STATUS]));
+        b.setCreatedAt(rs.getTimestamp(c[CREATED_AT]));
+        b.setVersion(rs.getInt(c[VERSION]));
+        return b;
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.hotelbooking.dao;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import com.example.hotelbooking.dto.CustomerSummary;
 import com.example.hotelbooking.model.Customer;
 
 @Repository
@@ -13,16 +16,37 @@ public class CustomerDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Value("${booking.search.fulltext.enabled:false}")
+    private boolean fullTextEnabled;
+
     public List<Customer> getAllCustomers() {
         String sql = "SELECT * FROM customers";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Customer c = new Customer();
-            c.setId(rs.getInt("id"));
-            c.setName(rs.getString("name"));
-            c.setEmail(rs.getString("email"));
-            c.setPassword(rs.getString("password"));
-            return c;
-        });
+        return jdbcTemplate.query(sql, CustomerRowMapper.INSTANCE);
+    }
+
+    // Customers whose name or email matches the search term, one page at a time.
+    // MySQL answers from the ft_customer_search FULLTEXT index; H2 and short words fall back to LIKE.
+    public Page<CustomerSummary> getCustomers(String search, PageRequest pageRequest) {
+        String where = "";
+        List<Object> args = new ArrayList<>();
+        if (search != null && !search.isEmpty()) {
+            String match = fullTextEnabled ? FullTextSearch.booleanQuery(search) : null;
+            if (match != null) {
+                where = " WHERE MATCH(name, email) AGAINST (? IN BOOLEAN MODE)";
+                args.add(match);
+            } else {
+                where = " WHERE LOWER(name) LIKE ? OR LOWER(email) LIKE ?";
+                args.add(SqlLike.contains(search));
+                args.add(SqlLike.contains(search));
+            }
+        }
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers" + where, Long.class, args.toArray());
+
+        args.add(pageRequest.getSize());
+        args.add(pageRequest.getOffset());
+        List<CustomerSummary> customers = jdbcTemplate.query("SELECT " + CustomerSummaryRowMapper.COLUMNS + " FROM customers" + where + " ORDER BY id LIMIT ? OFFSET ?",
+                CustomerSummaryRowMapper.INSTANCE, args.toArray());
+        return new Page<>(customers, total != null ? total : 0, pageRequest);
     }
 
     public void addCustomer(Customer customer) {
@@ -33,14 +57,7 @@ public class CustomerDAO {
     public Customer getCustomerById(int id) {
         String sql = "SELECT * FROM customers WHERE id = ?";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                Customer c = new Customer();
-                c.setId(rs.getInt("id"));
-                c.setName(rs.getString("name"));
-                c.setEmail(rs.getString("email"));
-                c.setPassword(rs.getString("password"));
-                return c;
-            }, id);
+            return jdbcTemplate.queryForObject(sql, CustomerRowMapper.INSTANCE, id);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
@@ -55,4 +72,4 @@ public class CustomerDAO {
         String sql = "DELETE FROM customers WHERE id = ?";
         jdbcTemplate.update(sql, id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.model.Customer;
+
+// Maps a full customers row
+public final class CustomerRowMapper extends IndexedRowMapper<Customer> {
+
+    public static final CustomerRowMapper INSTANCE = new CustomerRowMapper();
+
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PASSWORD = 3;
+
+    private CustomerRowMapper() {
+        super("id", "name", "email", "password");
+    }
+
+    @Override
+    protected Customer map(ResultSet rs, int[] c) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getInt(c[ID]));
+        customer.setName(rs.getString(c[NAME]));
+        customer.setEmail(rs.getString(c[EMAIL]));
+        customer.setPassword(rs.getString(c[PASSWORD]));
+        return customer;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.dto.CustomerSummary;
+
+// Maps the narrow customer projection used by list queries
+public final class CustomerSummaryRowMapper extends IndexedRowMapper<CustomerSummary> {
+
+    public static final CustomerSummaryRowMapper INSTANCE = new CustomerSummaryRowMapper();
+
+    static final String COLUMNS = "id, name, email";
+
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+
+    private CustomerSummaryRowMapper() {
+        super("id", "name", "email");
+    }
+
+    @Override
+    protected CustomerSummary map(ResultSet rs, int[] c) throws SQLException {
+        CustomerSummary customer = new CustomerSummary();
+        customer.setId(rs.getInt(c[ID]));
+        customer.setName(rs.getString(c[NAME]));
+        customer.setEmail(rs.getString(c[EMAIL]));
+        return customer;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hotelbooking.dao;
+
+import java.util.Locale;
+import java.util.Set;
+
+// MySQL FULLTEXT boolean-mode queries for user search terms
+final class FullTextSearch {
+    // InnoDB's default innodb_ft_min_token_size; shorter words are not in the index
+    static final int MIN_TOKEN_LENGTH = 3;
+    // InnoDB's default stopwords of at least MIN_TOKEN_LENGTH; they are not in the index either, which
+    // rules out emails and URLs ("com", "www")
+    static final Set<String> STOPWORDS = Set.of("about", "are", "com", "for", "from", "how", "that", "the",
+            "this", "und", "was", "what", "when", "where", "who", "will", "with", "www");
+
+    private FullTextSearch() {}
+
+    // Every word required, each as a prefix: "grand par" becomes "+grand* +par*". Returns null when a word
+    // is too short for the index or a stopword, so the caller falls back to LIKE rather than matching nothing.
+    static String booleanQuery(String term) {
+        StringBuilder query = new StringBuilder();
+        for (String word : term.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() < MIN_TOKEN_LENGTH || STOPWORDS.contains(word)) {
+                return null;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(word).append('*');
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+}
@@ -1,105 +1,184 @@
 package com.example.hotelbooking.dao;
 
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.hotelbooking.dto.HotelSummary;
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.event.HotelChanged;
 import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.service.CatalogVersions;
+import com.example.hotelbooking.service.InvalidationLog;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Repository
 public class HotelDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private Cache<Integer, Hotel> hotelCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private InvalidationLog invalidationLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.search.fulltext.enabled:false}")
+    private boolean fullTextEnabled;
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationLog.subscribe(InvalidationLog.HOTEL, this::hotelChanged);
+    }
+
     public List<Hotel> getAllHotels() {
         String sql = "SELECT * FROM hotels WHERE is_active = true";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Hotel h = new Hotel();
-            h.setId(rs.getInt("id"));
-            h.setName(rs.getString("name"));
-            h.setAddress(rs.getString("address"));
-            h.setCity(rs.getString("city"));
-            h.setState(rs.getString("state"));
-            h.setCountry(rs.getString("country"));
-            h.setPostalCode(rs.getString("postal_code"));
-            h.setPhone(rs.getString("phone"));
-            h.setEmail(rs.getString("email"));
-            h.setDescription(rs.getString("description"));
-            h.setStarRating(rs.getDouble("star_rating"));
-            h.setManagerId(rs.getObject("manager_id", Integer.class));
-            h.setIsActive(rs.getBoolean("is_active"));
-            h.setCreatedAt(rs.getTimestamp("created_at"));
-            return h;
-        });
+        return jdbcTemplate.query(sql, HotelRowMapper.INSTANCE);
+    }
+
+    // Active hotels matching the search term on name, address, city or description, one page at a time.
+    // MySQL answers from the ft_hotel_search FULLTEXT index; H2 and short words fall back to LIKE.
+    public Page<HotelSummary> getHotels(String search, PageRequest pageRequest) {
+        String where = " WHERE is_active = true";
+        List<Object> args = new ArrayList<>();
+        if (search != null && !search.isEmpty()) {
+            String match = fullTextEnabled ? FullTextSearch.booleanQuery(search) : null;
+            if (match != null) {
+                where += " AND MATCH(name, address, city, description) AGAINST (? IN BOOLEAN MODE)";
+                args.add(match);
+            } else {
+                where += " AND (LOWER(name) LIKE ? OR LOWER(address) LIKE ? OR LOWER(city) LIKE ? OR LOWER(description) LIKE ?)";
+                String pattern = SqlLike.contains(search);
+                args.add(pattern);
+                args.add(pattern);
+                args.add(pattern);
+                args.add(pattern);
+            }
+        }
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hotels" + where, Long.class, args.toArray());
+
+        args.add(pageRequest.getSize());
+        args.add(pageRequest.getOffset());
+        List<HotelSummary> hotels = jdbcTemplate.query("SELECT " + HotelSummaryRowMapper.COLUMNS + " FROM hotels" + where + " ORDER BY id LIMIT ? OFFSET ?",
+                HotelSummaryRowMapper.INSTANCE, args.toArray());
+        return new Page<>(hotels, total != null ? total : 0, pageRequest);
+    }
+
+    public List<Hotel> getHotelsByCity(String city) {
+        String sql = "SELECT * FROM hotels WHERE LOWER(city) = LOWER(?) AND is_active = true";
+        return jdbcTemplate.query(sql, HotelRowMapper.INSTANCE, city);
     }
 
     public void addHotel(Hotel hotel) {
         String sql = "INSERT INTO hotels(name, address, city, state, country, postal_code, phone, email, description, star_rating, manager_id, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql, 
-            hotel.getName(), 
-            hotel.getAddress(), 
-            hotel.getCity(),
-            hotel.getState(),
-            hotel.getCountry(),
-            hotel.getPostalCode(),
-            hotel.getPhone(),
-            hotel.getEmail(),
-            hotel.getDescription(),
-            hotel.getStarRating(),
-            hotel.getManagerId(),
-            hotel.getIsActive() != null ? hotel.getIsActive() : true
-        );
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, new String[] {"id"});
+                ps.setString(1, hotel.getName());
+                ps.setString(2, hotel.getAddress());
+                ps.setString(3, hotel.getCity());
+                ps.setString(4, hotel.getState());
+                ps.setString(5, hotel.getCountry());
+                ps.setString(6, hotel.getPostalCode());
+                ps.setString(7, hotel.getPhone());
+                ps.setString(8, hotel.getEmail());
+                ps.setString(9, hotel.getDescription());
+                ps.setObject(10, hotel.getStarRating(), Types.DECIMAL);
+                ps.setObject(11, hotel.getManagerId(), Types.INTEGER);
+                ps.setBoolean(12, hotel.getIsActive() != null ? hotel.getIsActive() : true);
+                return ps;
+            }, keyHolder);
+            hotel.setId(keyHolder.getKey().intValue());
+            invalidationLog.append(InvalidationLog.HOTEL, hotel.getId());
+        });
+        hotelChanged(hotel.getId());
+    }
+
+    // Every active hotel as a summary, for the in-memory search index
+    public List<HotelSummary> getHotelSummaries() {
+        String sql = "SELECT " + HotelSummaryRowMapper.COLUMNS + " FROM hotels WHERE is_active = true";
+        return jdbcTemplate.query(sql, HotelSummaryRowMapper.INSTANCE);
     }
 
+    public HotelSummary getHotelSummaryById(int id) {
+        String sql = "SELECT " + HotelSummaryRowMapper.COLUMNS + " FROM hotels WHERE id = ? AND is_active = true";
+        List<HotelSummary> hotels = jdbcTemplate.query(sql, HotelSummaryRowMapper.INSTANCE, id);
+        return hotels.isEmpty() ? null : hotels.get(0);
+    }
+
+    // Read through hotelCache; the returned hotel is shared and must not be modified
     public Hotel getHotelById(int id) {
+        return hotelCache.get(id, this::loadHotel);
+    }
+
+    // Null for a missing or inactive hotel, which the cache does not store
+    private Hotel loadHotel(int id) {
         String sql = "SELECT * FROM hotels WHERE id = ? AND is_active = true";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                Hotel h = new Hotel();
-                h.setId(rs.getInt("id"));
-                h.setName(rs.getString("name"));
-                h.setAddress(rs.getString("address"));
-                h.setCity(rs.getString("city"));
-                h.setState(rs.getString("state"));
-                h.setCountry(rs.getString("country"));
-                h.setPostalCode(rs.getString("postal_code"));
-                h.setPhone(rs.getString("phone"));
-                h.setEmail(rs.getString("email"));
-                h.setDescription(rs.getString("description"));
-                h.setStarRating(rs.getDouble("star_rating"));
-                h.setManagerId(rs.getObject("manager_id", Integer.class));
-                h.setIsActive(rs.getBoolean("is_active"));
-                h.setCreatedAt(rs.getTimestamp("created_at"));
-                return h;
-            }, id);
+            return jdbcTemplate.queryForObject(sql, HotelRowMapper.INSTANCE, id);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
     }
 
+    // A null isActive leaves is_active as it is; deactivation goes through deleteHotel
     public void updateHotel(Hotel hotel) {
-        String sql = "UPDATE hotels SET name = ?, address = ?, city = ?, state = ?, country = ?, postal_code = ?, phone = ?, email = ?, description = ?, star_rating = ?, manager_id = ?, is_active = ? WHERE id = ?";
-        jdbcTemplate.update(sql, 
-            hotel.getName(),
-            hotel.getAddress(),
-            hotel.getCity(),
-            hotel.getState(),
-            hotel.getCountry(),
-            hotel.getPostalCode(),
-            hotel.getPhone(),
-            hotel.getEmail(),
-            hotel.getDescription(),
-            hotel.getStarRating(),
-            hotel.getManagerId(),
-            hotel.getIsActive(),
-            hotel.getId()
-        );
+        String sql = "UPDATE hotels SET name = ?, address = ?, city = ?, state = ?, country = ?, postal_code = ?, phone = ?, email = ?, description = ?, star_rating = ?, manager_id = ?, is_active = COALESCE(?, is_active) WHERE id = ?";
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql,
+                hotel.getName(),
+                hotel.getAddress(),
+                hotel.getCity(),
+                hotel.getState(),
+                hotel.getCountry(),
+                hotel.getPostalCode(),
+                hotel.getPhone(),
+                hotel.getEmail(),
+                hotel.getDescription(),
+                hotel.getStarRating(),
+                hotel.getManagerId(),
+                hotel.getIsActive(),
+                hotel.getId()
+            );
+            invalidationLog.append(InvalidationLog.HOTEL, hotel.getId());
+        });
+        hotelChanged(hotel.getId());
     }
 
     public void deleteHotel(int id) {
         String sql = "UPDATE hotels SET is_active = false WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql, id);
+            invalidationLog.append(InvalidationLog.HOTEL, id);
+        });
+        hotelChanged(id);
+    }
+
+    // After a committed write to a hotel, here or on another node
+    private void hotelChanged(int id) {
+        hotelCache.invalidate(id);
+        catalogVersions.hotelsChanged();
+        eventBus.publish(new HotelChanged(id));
     }
-}
\ No newline at end of file
+}
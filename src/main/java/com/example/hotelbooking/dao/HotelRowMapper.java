@@ -0,0 +1,52 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.model.Hotel;
+
+// Maps a full hotels row
+public final class HotelRowMapper extends IndexedRowMapper<Hotel> {
+
+    public static final HotelRowMapper INSTANCE = new HotelRowMapper();
+
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int ADDRESS = 2;
+    private static final int CITY = 3;
+    private static final int STATE = 4;
+    private static final int COUNTRY = 5;
+    private static final int POSTAL_CODE = 6;
+    private static final int PHONE = 7;
+    private static final int EMAIL = 8;
+    private static final int DESCRIPTION = 9;
+    private static final int STAR_RATING = 10;
+    private static final int MANAGER_ID = 11;
+    private static final int IS_ACTIVE = 12;
+    private static final int CREATED_AT = 13;
+
+    private HotelRowMapper() {
+        super("id", "name", "address", "city", "state", "country", "postal_code", "phone", "email",
+              "description", "star_rating", "manager_id", "is_active", "created_at");
+    }
+
+    @Override
+    protected Hotel map(ResultSet rs, int[] c) throws SQLException {
+        Hotel h = new Hotel();
+        h.setId(rs.getInt(c[ID]));
+        h.setName(rs.getString(c[NAME]));
+        h.setAddress(rs.getString(c[ADDRESS]));
+        h.setCity(rs.getString(c[CITY]));
+        h.setState(rs.getString(c[STATE]));
+        h.setCountry(rs.getString(c[COUNTRY]));
+        h.setPostalCode(rs.getString(c[POSTAL_CODE]));
+        h.setPhone(rs.getString(c[PHONE]));
+        h.setEmail(rs.getString(c[EMAIL]));
+        h.setDescription(rs.getString(c[DESCRIPTION]));
+        h.setStarRating(rs.getDouble(c[STAR_RATING]));
+        h.setManagerId(rs.getObject(c[MANAGER_ID], Integer.class));
+        h.setIsActive(rs.getBoolean(c[IS_ACTIVE]));
+        h.setCreatedAt(rs.getTimestamp(c[CREATED_AT]));
+        return h;
+    }
+}
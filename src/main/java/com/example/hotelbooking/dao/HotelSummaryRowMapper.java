@@ -0,0 +1,45 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.dto.HotelSummary;
+
+// Maps the narrow hotel projection used by list queries
+public final class HotelSummaryRowMapper extends IndexedRowMapper<HotelSummary> {
+
+    public static final HotelSummaryRowMapper INSTANCE = new HotelSummaryRowMapper();
+
+    // Enough for the list card; the full text (up to 1000 chars) is only read by the /{id} lookup
+    public static final int DESCRIPTION_EXCERPT = 200;
+
+    static final String COLUMNS = "id, name, address, city, state, country, star_rating, " +
+            "SUBSTRING(description, 1, " + DESCRIPTION_EXCERPT + ") AS description";
+
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int ADDRESS = 2;
+    private static final int CITY = 3;
+    private static final int STATE = 4;
+    private static final int COUNTRY = 5;
+    private static final int STAR_RATING = 6;
+    private static final int DESCRIPTION = 7;
+
+    private HotelSummaryRowMapper() {
+        super("id", "name", "address", "city", "state", "country", "star_rating", "description");
+    }
+
+    @Override
+    protected HotelSummary map(ResultSet rs, int[] c) throws SQLException {
+        HotelSummary h = new HotelSummary();
+        h.setId(rs.getInt(c[ID]));
+        h.setName(rs.getString(c[NAME]));
+        h.setAddress(rs.getString(c[ADDRESS]));
+        h.setCity(rs.getString(c[CITY]));
+        h.setState(rs.getString(c[STATE]));
+        h.setCountry(rs.getString(c[COUNTRY]));
+        h.setStarRating(rs.getDouble(c[STAR_RATING]));
+        h.setDescription(rs.getString(c[DESCRIPTION]));
+        return h;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hotelbooking.dao;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+// Base for the shared entity mappers. Column labels are resolved to positions once per result set,
+// and every later row of it reads by index instead of searching the label map per column.
+// Positions live in a ThreadLocal because one mapper instance serves all queries on all threads; they are
+// keyed by the result set itself, held weakly, so a new query never reuses another query's positions.
+public abstract class IndexedRowMapper<T> implements RowMapper<T> {
+
+    private final String[] labels;
+    private final ThreadLocal<Resolved> resolved = new ThreadLocal<>();
+
+    protected IndexedRowMapper(String... labels) {
+        this.labels = labels;
+    }
+
+    @Override
+    public final T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Resolved last = resolved.get();
+        if (last == null || last.resultSet.get() != rs) {
+            last = new Resolved(rs, resolve(rs));
+            resolved.set(last);
+        }
+        return map(rs, last.columns);
+    }
+
+    // columns[i] is the position of the i-th label passed to the constructor
+    protected abstract T map(ResultSet rs, int[] columns) throws SQLException;
+
+    private int[] resolve(ResultSet rs) throws SQLException {
+        int[] columns = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            columns[i] = rs.findColumn(labels[i]);
+        }
+        return columns;
+    }
+
+    private static class Resolved {
+        private final WeakReference<ResultSet> resultSet;
+        private final int[] columns;
+
+        Resolved(ResultSet resultSet, int[] columns) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.columns = columns;
+        }
+    }
+}
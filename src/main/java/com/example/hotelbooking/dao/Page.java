@@ -0,0 +1,38 @@
+package com.example.hotelbooking.dao;
+
+import java.util.List;
+
+// One page of rows plus the total from a separate COUNT(*)
+public class Page<T> {
+    private final List<T> content;
+    private final long totalElements;
+    private final int page;
+    private final int size;
+
+    public Page(List<T> content, long totalElements, PageRequest request) {
+        this.content = content;
+        this.totalElements = totalElements;
+        this.page = request.getPage();
+        this.size = request.getSize();
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTotalPages() {
+        return (int) Math.ceil((double) totalElements / size);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hotelbooking.dao;
+
+// Zero-based page of a list query; size is clamped so one request never loads an unbounded result
+public class PageRequest {
+    public static final int MAX_SIZE = 1000;
+
+    private final int page;
+    private final int size;
+
+    private PageRequest(int page, int size) {
+        this.page = page;
+        this.size = size;
+    }
+
+    public static PageRequest of(int page, int size) {
+        return new PageRequest(Math.max(0, page), Math.min(Math.max(1, size), MAX_SIZE));
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getOffset() {
+        return (long) page * size;
+    }
+}
@@ -1,116 +1,234 @@
 package com.example.hotelbooking.dao;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.event.RoomChanged;
+import com.example.hotelbooking.model.BookingStatus;
 import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.service.CatalogVersions;
+import com.example.hotelbooking.service.InvalidationLog;
+import com.example.hotelbooking.service.RoomAvailabilityIndex;
+import com.example.hotelbooking.service.RoomHoldManager;
+import com.example.hotelbooking.util.VersionedSnapshotCache;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Repository
 public class RoomDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Autowired
+    private RoomHoldManager holdManager;
+
+    @Autowired
+    private Cache<Integer, Room> roomCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private InvalidationLog invalidationLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${booking.cache.hotel-rooms.max-size:10000}")
+    private long hotelRoomsMaxSize;
+
+    // Room list per hotel for /api/rooms/hotel/{hotelId}; every room write bumps its hotel's version.
+    // Bounded, because the endpoint is anonymous and caches a list for any hotelId asked for.
+    private VersionedSnapshotCache<Integer, List<Room>> hotelRooms;
+
+    // Anti-join with the half-open overlap test; served by idx_booking_room_status_dates
+    static final String AVAILABLE_ROOMS_SQL = "SELECT r.* FROM rooms r WHERE r.hotel_id = ? AND r.is_available = true AND r.is_active = true " +
+                    "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = r.id " +
+                    "AND b.status IN " + BookingStatus.BLOCKING_SQL + " " +
+                    "AND b.check_in_date < ? AND b.check_out_date > ?)";
+
+    @PostConstruct
+    public void subscribe() {
+        hotelRooms = new VersionedSnapshotCache<>(hotelRoomsMaxSize);
+        invalidationLog.subscribe(InvalidationLog.ROOM, roomId -> roomChanged(roomId, null));
+        invalidationLog.subscribe(InvalidationLog.HOTEL_ROOMS, hotelRooms::bump);
+    }
+
     public List<Room> getAllRooms() {
         String sql = "SELECT * FROM rooms WHERE is_active = true";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Room r = new Room();
-            r.setId(rs.getInt("id"));
-            r.setHotelId(rs.getInt("hotel_id"));
-            r.setRoomNumber(rs.getString("room_number"));
-            r.setRoomType(rs.getString("room_type"));
-            r.setCapacity(rs.getInt("capacity"));
-            r.setPricePerNight(rs.getDouble("price_per_night"));
-            r.setAmenities(rs.getString("amenities"));
-            r.setAvailable(rs.getBoolean("is_available"));
-            r.setActive(rs.getBoolean("is_active"));
-            return r;
-        });
+        return jdbcTemplate.query(sql, RoomRowMapper.INSTANCE);
     }
 
+    // The returned list is a shared snapshot and cannot be modified
     public List<Room> getRoomsByHotelId(int hotelId) {
+        return hotelRooms.get(hotelId, this::loadRoomsByHotelId);
+    }
+
+    private List<Room> loadRoomsByHotelId(int hotelId) {
         String sql = "SELECT * FROM rooms WHERE hotel_id = ? AND is_active = true";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Room r = new Room();
-            r.setId(rs.getInt("id"));
-            r.setHotelId(rs.getInt("hotel_id"));
-            r.setRoomNumber(rs.getString("room_number"));
-            r.setRoomType(rs.getString("room_type"));
-            r.setCapacity(rs.getInt("capacity"));
-            r.setPricePerNight(rs.getDouble("price_per_night"));
-            r.setAmenities(rs.getString("amenities"));
-            r.setAvailable(rs.getBoolean("is_available"));
-            r.setActive(rs.getBoolean("is_active"));
-            return r;
-        }, hotelId);
+        return Collections.unmodifiableList(jdbcTemplate.query(sql, RoomRowMapper.INSTANCE, hotelId));
+    }
+
+    // Active rooms, optionally of one hotel, matching the search term, one page at a time
+    public Page<Room> getRooms(int hotelId, String search, PageRequest pageRequest) {
+        String where = " WHERE is_active = true";
+        List<Object> args = new ArrayList<>();
+        if (hotelId > 0) {
+            where += " AND hotel_id = ?";
+            args.add(hotelId);
+        }
+        if (search != null && !search.isEmpty()) {
+            where += " AND (LOWER(room_number) LIKE ? OR LOWER(room_type) LIKE ? OR LOWER(amenities) LIKE ?)";
+            args.add(SqlLike.contains(search));
+            args.add(SqlLike.contains(search));
+            args.add(SqlLike.contains(search));
+        }
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms" + where, Long.class, args.toArray());
+
+        args.add(pageRequest.getSize());
+        args.add(pageRequest.getOffset());
+        List<Room> rooms = jdbcTemplate.query("SELECT * FROM rooms" + where + " ORDER BY id LIMIT ? OFFSET ?", RoomRowMapper.INSTANCE, args.toArray());
+        return new Page<>(rooms, total != null ? total : 0, pageRequest);
     }
 
     public List<Room> getAvailableRooms(int hotelId, Date checkIn, Date checkOut) {
-        String sql = "SELECT r.* FROM rooms r WHERE r.hotel_id = ? AND r.is_available = true AND r.is_active = true " +
-                    "AND r.id NOT IN (SELECT b.room_id FROM bookings b WHERE b.room_id IS NOT NULL " +
-                    "AND b.status IN ('CONFIRMED', 'CHECKED_IN') " +
-                    "AND ((b.check_in_date <= ? AND b.check_out_date > ?) " +
-                    "OR (b.check_in_date < ? AND b.check_out_date >= ?)))";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            Room r = new Room();
-            r.setId(rs.getInt("id"));
-            r.setHotelId(rs.getInt("hotel_id"));
-            r.setRoomNumber(rs.getString("room_number"));
-            r.setRoomType(rs.getString("room_type"));
-            r.setCapacity(rs.getInt("capacity"));
-            r.setPricePerNight(rs.getDouble("price_per_night"));
-            r.setAmenities(rs.getString("amenities"));
-            r.setAvailable(rs.getBoolean("is_available"));
-            r.setActive(rs.getBoolean("is_active"));
-            return r;
-        }, hotelId, checkIn, checkIn, checkOut, checkOut);
+        List<Room> rooms;
+        if (availabilityIndex.covers(checkIn, checkOut)) {
+            rooms = getBookableRooms(hotelId);
+            rooms.removeIf(r -> !availabilityIndex.isAvailable(r.getId(), checkIn, checkOut));
+        } else {
+            rooms = getUnbookedRooms(hotelId, checkIn, checkOut);
+        }
+        // Rooms held during someone else's checkout are not offered
+        rooms.removeIf(r -> holdManager.isHeld(r.getId(), checkIn, checkOut, null));
+        return rooms;
+    }
+
+    private List<Room> getUnbookedRooms(int hotelId, Date checkIn, Date checkOut) {
+        return jdbcTemplate.query(AVAILABLE_ROOMS_SQL, RoomRowMapper.INSTANCE, hotelId, new java.sql.Date(checkOut.getTime()), new java.sql.Date(checkIn.getTime()));
+    }
+
+    private List<Room> getBookableRooms(int hotelId) {
+        String sql = "SELECT * FROM rooms WHERE hotel_id = ? AND is_available = true AND is_active = true";
+        return jdbcTemplate.query(sql, RoomRowMapper.INSTANCE, hotelId);
     }
 
     public void addRoom(Room room) {
         String sql = "INSERT INTO rooms(hotel_id, room_number, room_type, capacity, price_per_night, amenities, is_available, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        jdbcTemplate.update(sql, room.getHotelId(), room.getRoomNumber(), room.getRoomType(), 
-                           room.getCapacity(), room.getPricePerNight(), room.getAmenities(), 
-                           room.isAvailable(), true); // Always set is_active to true for new rooms
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, new String[] {"id"});
+                ps.setInt(1, room.getHotelId());
+                ps.setString(2, room.getRoomNumber());
+                ps.setString(3, room.getRoomType());
+                ps.setInt(4, room.getCapacity());
+                ps.setDouble(5, room.getPricePerNight());
+                ps.setString(6, room.getAmenities());
+                ps.setBoolean(7, room.isAvailable());
+                ps.setBoolean(8, true); // Always set is_active to true for new rooms
+                return ps;
+            }, keyHolder);
+            room.setId(keyHolder.getKey().intValue());
+            invalidationLog.append(InvalidationLog.ROOM, room.getId());
+            invalidationLog.append(InvalidationLog.HOTEL_ROOMS, room.getHotelId());
+        });
+        hotelRooms.bump(room.getHotelId());
+        roomChanged(room.getId(), room.getHotelId());
     }
 
+    // Read through roomCache; the returned room is shared and must not be modified
     public Room getRoomById(int id) {
+        return roomCache.get(id, this::loadRoom);
+    }
+
+    // Null for a missing or inactive room, which the cache does not store
+    private Room loadRoom(int id) {
         String sql = "SELECT * FROM rooms WHERE id = ? AND is_active = true";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                Room r = new Room();
-                r.setId(rs.getInt("id"));
-                r.setHotelId(rs.getInt("hotel_id"));
-                r.setRoomNumber(rs.getString("room_number"));
-                r.setRoomType(rs.getString("room_type"));
-                r.setCapacity(rs.getInt("capacity"));
-                r.setPricePerNight(rs.getDouble("price_per_night"));
-                r.setAmenities(rs.getString("amenities"));
-                r.setAvailable(rs.getBoolean("is_available"));
-                r.setActive(rs.getBoolean("is_active"));
-                return r;
-            }, id);
+            return jdbcTemplate.queryForObject(sql, RoomRowMapper.INSTANCE, id);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
     }
 
     public void updateRoom(Room room) {
+        Integer previousHotelId = getHotelIdOfRoom(room.getId());
+        // A room moved to another hotel leaves the old hotel's list as well
+        boolean moved = previousHotelId != null && previousHotelId != room.getHotelId();
         String sql = "UPDATE rooms SET hotel_id = ?, room_number = ?, room_type = ?, capacity = ?, price_per_night = ?, amenities = ?, is_available = ? WHERE id = ?";
-        jdbcTemplate.update(sql, room.getHotelId(), room.getRoomNumber(), room.getRoomType(), 
-                           room.getCapacity(), room.getPricePerNight(), room.getAmenities(), 
-                           room.isAvailable(), room.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql, room.getHotelId(), room.getRoomNumber(), room.getRoomType(), 
+                               room.getCapacity(), room.getPricePerNight(), room.getAmenities(), 
+                               room.isAvailable(), room.getId());
+            invalidationLog.append(InvalidationLog.ROOM, room.getId());
+            invalidationLog.append(InvalidationLog.HOTEL_ROOMS, room.getHotelId());
+            if (moved) {
+                invalidationLog.append(InvalidationLog.HOTEL_ROOMS, previousHotelId);
+            }
+        });
+        if (moved) {
+            hotelRooms.bump(previousHotelId);
+        }
+        hotelRooms.bump(room.getHotelId());
+        roomChanged(room.getId(), room.getHotelId());
     }
 
     public void deleteRoom(int id) {
         String sql = "UPDATE rooms SET is_active = false WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+        writeRoom(id, () -> jdbcTemplate.update(sql, id));
     }
 
     public void updateRoomAvailability(int roomId, boolean isAvailable) {
         String sql = "UPDATE rooms SET is_available = ? WHERE id = ?";
-        jdbcTemplate.update(sql, isAvailable, roomId);
+        writeRoom(roomId, () -> jdbcTemplate.update(sql, isAvailable, roomId));
+    }
+
+    // Runs a write that leaves the room in its hotel, logging both for the other nodes
+    private void writeRoom(int roomId, Runnable update) {
+        Integer hotelId = getHotelIdOfRoom(roomId);
+        transactionTemplate.executeWithoutResult(status -> {
+            update.run();
+            invalidationLog.append(InvalidationLog.ROOM, roomId);
+            if (hotelId != null) {
+                invalidationLog.append(InvalidationLog.HOTEL_ROOMS, hotelId);
+            }
+        });
+        if (hotelId != null) {
+            hotelRooms.bump(hotelId);
+        }
+        roomChanged(roomId, null);
+    }
+
+    // After a committed write to a room, here or on another node
+    private void roomChanged(int roomId, Integer hotelId) {
+        roomCache.invalidate(roomId);
+        catalogVersions.roomsChanged();
+        eventBus.publish(new RoomChanged(roomId, hotelId));
+    }
+
+    private Integer getHotelIdOfRoom(int roomId) {
+        List<Integer> hotelIds = jdbcTemplate.query("SELECT hotel_id FROM rooms WHERE id = ?",
+                (rs, rowNum) -> rs.getInt("hotel_id"), roomId);
+        return hotelIds.isEmpty() ? null : hotelIds.get(0);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.model.Room;
+
+// Maps a full rooms row
+public final class RoomRowMapper extends IndexedRowMapper<Room> {
+
+    public static final RoomRowMapper INSTANCE = new RoomRowMapper();
+
+    private static final int ID = 0;
+    private static final int HOTEL_ID = 1;
+    private static final int ROOM_NUMBER = 2;
+    private static final int ROOM_TYPE = 3;
+    private static final int CAPACITY = 4;
+    private static final int PRICE_PER_NIGHT = 5;
+    private static final int AMENITIES = 6;
+    private static final int IS_AVAILABLE = 7;
+    private static final int IS_ACTIVE = 8;
+
+    private RoomRowMapper() {
+        super("id", "hotel_id", "room_number", "room_type", "capacity", "price_per_night", "amenities",
+              "is_available", "is_active");
+    }
+
+    @Override
+    protected Room map(ResultSet rs, int[] c) throws SQLException {
+        Room r = new Room();
+        r.setId(rs.getInt(c[ID]));
+        r.setHotelId(rs.getInt(c[HOTEL_ID]));
+        r.setRoomNumber(rs.getString(c[ROOM_NUMBER]));
+        r.setRoomType(rs.getString(c[ROOM_TYPE]));
+        r.setCapacity(rs.getInt(c[CAPACITY]));
+        r.setPricePerNight(rs.getDouble(c[PRICE_PER_NIGHT]));
+        r.setAmenities(rs.getString(c[AMENITIES]));
+        r.setAvailable(rs.getBoolean(c[IS_AVAILABLE]));
+        r.setActive(rs.getBoolean(c[IS_ACTIVE]));
+        return r;
+    }
+}
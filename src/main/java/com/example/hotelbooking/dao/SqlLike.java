@@ -0,0 +1,16 @@
+package com.example.hotelbooking.dao;
+
+import java.util.Locale;
+
+// LIKE patterns for user search terms; backslash is the default escape in both H2 and MySQL
+final class SqlLike {
+    private SqlLike() {}
+
+    static String contains(String term) {
+        String escaped = term.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.hotelbooking.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.hotelbooking.dto.EntityCounts;
+
+// Cross-table aggregates for the dashboard
+@Repository
+public class StatisticsDAO {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Every entity count in one round trip; each subquery counts on an index, no row is loaded.
+    // Bookings are counted per status by BookingDAO.getStatusBreakdown.
+    public EntityCounts getEntityCounts() {
+        String sql = "SELECT " +
+                "(SELECT COUNT(*) FROM customers) AS customers, " +
+                "(SELECT COUNT(*) FROM hotels WHERE is_active = true) AS hotels, " +
+                "(SELECT COUNT(*) FROM rooms WHERE is_active = true) AS rooms, " +
+                "(SELECT COUNT(*) FROM users WHERE is_active = true) AS users";
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            EntityCounts counts = new EntityCounts();
+            counts.setCustomers(rs.getLong("customers"));
+            counts.setHotels(rs.getLong("hotels"));
+            counts.setRooms(rs.getLong("rooms"));
+            counts.setUsers(rs.getLong("users"));
+            return counts;
+        });
+    }
+}
@@ -2,77 +2,95 @@ package com.example.hotelbooking.dao;
 
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.hotelbooking.dto.UserPrincipal;
+import com.example.hotelbooking.dto.UserSummary;
 import com.example.hotelbooking.model.User;
+import com.example.hotelbooking.service.InvalidationLog;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Repository
 public class UserDAO {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private Cache<Integer, UserPrincipal> userPrincipalsById;
+
+    @Autowired
+    private Cache<String, Integer> userIdsByUsername;
+
+    @Autowired
+    private InvalidationLog invalidationLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationLog.subscribe(InvalidationLog.USER, this::invalidatePrincipal);
+    }
+
     public List<User> getAllUsers() {
         String sql = "SELECT * FROM users WHERE is_active = true";
-        return jdbcTemplate.query(sql, (rs, rowNum) -> {
-            User u = new User();
-            u.setId(rs.getInt("id"));
-            u.setUsername(rs.getString("username"));
-            u.setEmail(rs.getString("email"));
-            u.setPassword(rs.getString("password"));
-            u.setRole(rs.getString("role"));
-            u.setFirstName(rs.getString("first_name"));
-            u.setLastName(rs.getString("last_name"));
-            u.setPhone(rs.getString("phone"));
-            u.setActive(rs.getBoolean("is_active"));
-            u.setCreatedAt(rs.getTimestamp("created_at"));
-            u.setLastLogin(rs.getTimestamp("last_login"));
-            return u;
-        });
+        return jdbcTemplate.query(sql, UserRowMapper.INSTANCE);
+    }
+
+    public List<UserSummary> getUserSummaries() {
+        String sql = "SELECT " + UserSummaryRowMapper.COLUMNS + " FROM users WHERE is_active = true";
+        return jdbcTemplate.query(sql, UserSummaryRowMapper.INSTANCE);
     }
 
     public User findByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ? AND is_active = true";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                User u = new User();
-                u.setId(rs.getInt("id"));
-                u.setUsername(rs.getString("username"));
-                u.setEmail(rs.getString("email"));
-                u.setPassword(rs.getString("password"));
-                u.setRole(rs.getString("role"));
-                u.setFirstName(rs.getString("first_name"));
-                u.setLastName(rs.getString("last_name"));
-                u.setPhone(rs.getString("phone"));
-                u.setActive(rs.getBoolean("is_active"));
-                u.setCreatedAt(rs.getTimestamp("created_at"));
-                u.setLastLogin(rs.getTimestamp("last_login"));
-                return u;
-            }, username);
+            return jdbcTemplate.queryForObject(sql, UserRowMapper.INSTANCE, username);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
     }
 
+    // Cached and without the password hash; login still reads the full row through findByUsername.
+    // The name resolves to an id first, so evicting the id entry is all a write has to do.
+    public UserPrincipal getPrincipalByUsername(String username) {
+        Integer id = userIdsByUsername.get(username, this::findIdByUsername);
+        UserPrincipal principal = id != null ? getPrincipalById(id) : null;
+        if (principal != null && principal.getUsername().equals(username)) {
+            return principal;
+        }
+        if (id == null) {
+            return null;
+        }
+        // Renamed or deactivated since the name was resolved: the name may now belong to someone else
+        userIdsByUsername.invalidate(username);
+        Integer current = userIdsByUsername.get(username, this::findIdByUsername);
+        principal = current != null ? getPrincipalById(current) : null;
+        return principal != null && principal.getUsername().equals(username) ? principal : null;
+    }
+
+    public UserPrincipal getPrincipalById(int id) {
+        return userPrincipalsById.get(id, key -> {
+            User user = getUserById(key);
+            return user != null ? new UserPrincipal(user) : null;
+        });
+    }
+
+    private Integer findIdByUsername(String username) {
+        String sql = "SELECT id FROM users WHERE username = ? AND is_active = true";
+        List<Integer> ids = jdbcTemplate.queryForList(sql, Integer.class, username);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
     public User findByEmail(String email) {
         String sql = "SELECT * FROM users WHERE email = ? AND is_active = true";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                User u = new User();
-                u.setId(rs.getInt("id"));
-                u.setUsername(rs.getString("username"));
-                u.setEmail(rs.getString("email"));
-                u.setPassword(rs.getString("password"));
-                u.setRole(rs.getString("role"));
-                u.setFirstName(rs.getString("first_name"));
-                u.setLastName(rs.getString("last_name"));
-                u.setPhone(rs.getString("phone"));
-                u.setActive(rs.getBoolean("is_active"));
-                u.setCreatedAt(rs.getTimestamp("created_at"));
-                u.setLastLogin(rs.getTimestamp("last_login"));
-                return u;
-            }, email);
+            return jdbcTemplate.queryForObject(sql, UserRowMapper.INSTANCE, email);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
@@ -87,21 +105,7 @@ public class UserDAO {
     public User getUserById(int id) {
         String sql = "SELECT * FROM users WHERE id = ? AND is_active = true";
         try {
-            return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-                User u = new User();
-                u.setId(rs.getInt("id"));
-                u.setUsername(rs.getString("username"));
-                u.setEmail(rs.getString("email"));
-                u.setPassword(rs.getString("password"));
-                u.setRole(rs.getString("role"));
-                u.setFirstName(rs.getString("first_name"));
-                u.setLastName(rs.getString("last_name"));
-                u.setPhone(rs.getString("phone"));
-                u.setActive(rs.getBoolean("is_active"));
-                u.setCreatedAt(rs.getTimestamp("created_at"));
-                u.setLastLogin(rs.getTimestamp("last_login"));
-                return u;
-            }, id);
+            return jdbcTemplate.queryForObject(sql, UserRowMapper.INSTANCE, id);
         } catch (org.springframework.dao.EmptyResultDataAccessException e) {
             return null;
         }
@@ -109,10 +113,11 @@ public class UserDAO {
 
     public void updateUser(User user) {
         String sql = "UPDATE users SET username = ?, email = ?, first_name = ?, last_name = ?, phone = ?, role = ? WHERE id = ?";
-        jdbcTemplate.update(sql, user.getUsername(), user.getEmail(), user.getFirstName(), 
-                           user.getLastName(), user.getPhone(), user.getRole(), user.getId());
+        writeUser(user.getId(), () -> jdbcTemplate.update(sql, user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getPhone(), user.getRole(), user.getId()));
     }
 
+    // Principals do not carry last_login, so there is nothing to evict
     public void updateLastLogin(int userId) {
         String sql = "UPDATE users SET last_login = CURRENT_TIMESTAMP WHERE id = ?";
         jdbcTemplate.update(sql, userId);
@@ -120,6 +125,21 @@ public class UserDAO {
 
     public void deleteUser(int id) {
         String sql = "UPDATE users SET is_active = false WHERE id = ?";
-        jdbcTemplate.update(sql, id);
+        writeUser(id, () -> jdbcTemplate.update(sql, id));
+    }
+
+    // New users need no entry: lookups of missing users are not cached
+    private void writeUser(int id, Runnable update) {
+        transactionTemplate.executeWithoutResult(status -> {
+            update.run();
+            invalidationLog.append(InvalidationLog.USER, id);
+        });
+        invalidatePrincipal(id);
+    }
+
+    // A load already running for the id finishes before the entry is removed, so it cannot outlive this.
+    // Username entries only map to ids and are checked against the principal they resolve to.
+    private void invalidatePrincipal(int id) {
+        userPrincipalsById.invalidate(id);
     }
-}
\ No newline at end of file
+}
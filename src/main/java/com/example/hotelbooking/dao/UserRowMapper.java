@@ -0,0 +1,46 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.model.User;
+
+// Maps a full users row, password hash included
+public final class UserRowMapper extends IndexedRowMapper<User> {
+
+    public static final UserRowMapper INSTANCE = new UserRowMapper();
+
+    private static final int ID = 0;
+    private static final int USERNAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PASSWORD = 3;
+    private static final int ROLE = 4;
+    private static final int FIRST_NAME = 5;
+    private static final int LAST_NAME = 6;
+    private static final int PHONE = 7;
+    private static final int IS_ACTIVE = 8;
+    private static final int CREATED_AT = 9;
+    private static final int LAST_LOGIN = 10;
+
+    private UserRowMapper() {
+        super("id", "username", "email", "password", "role", "first_name", "last_name", "phone",
+              "is_active", "created_at", "last_login");
+    }
+
+    @Override
+    protected User map(ResultSet rs, int[] c) throws SQLException {
+        User u = new User();
+        u.setId(rs.getInt(c[ID]));
+        u.setUsername(rs.getString(c[USERNAME]));
+        u.setEmail(rs.getString(c[EMAIL]));
+        u.setPassword(rs.getString(c[PASSWORD]));
+        u.setRole(rs.getString(c[ROLE]));
+        u.setFirstName(rs.getString(c[FIRST_NAME]));
+        u.setLastName(rs.getString(c[LAST_NAME]));
+        u.setPhone(rs.getString(c[PHONE]));
+        u.setActive(rs.getBoolean(c[IS_ACTIVE]));
+        u.setCreatedAt(rs.getTimestamp(c[CREATED_AT]));
+        u.setLastLogin(rs.getTimestamp(c[LAST_LOGIN]));
+        return u;
+    }
+}
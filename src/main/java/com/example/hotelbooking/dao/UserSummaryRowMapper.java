@@ -0,0 +1,37 @@
+package com.example.hotelbooking.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.example.hotelbooking.dto.UserSummary;
+
+// Maps the narrow user projection used by list queries
+public final class UserSummaryRowMapper extends IndexedRowMapper<UserSummary> {
+
+    public static final UserSummaryRowMapper INSTANCE = new UserSummaryRowMapper();
+
+    static final String COLUMNS = "id, username, email, role, first_name, last_name";
+
+    private static final int ID = 0;
+    private static final int USERNAME = 1;
+    private static final int EMAIL = 2;
+    private static final int ROLE = 3;
+    private static final int FIRST_NAME = 4;
+    private static final int LAST_NAME = 5;
+
+    private UserSummaryRowMapper() {
+        super("id", "username", "email", "role", "first_name", "last_name");
+    }
+
+    @Override
+    protected UserSummary map(ResultSet rs, int[] c) throws SQLException {
+        UserSummary u = new UserSummary();
+        u.setId(rs.getInt(c[ID]));
+        u.setUsername(rs.getString(c[USERNAME]));
+        u.setEmail(rs.getString(c[EMAIL]));
+        u.setRole(rs.getString(c[ROLE]));
+        u.setFirstName(rs.getString(c[FIRST_NAME]));
+        u.setLastName(rs.getString(c[LAST_NAME]));
+        return u;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hotelbooking.dto;
+
+import java.util.List;
+
+public class AvailabilitySearchResult {
+    private List<AvailableRoom> rooms;
+    private long totalElements;
+    private int hotelsSearched;
+
+    public AvailabilitySearchResult() {}
+
+    public AvailabilitySearchResult(List<AvailableRoom> rooms, long totalElements, int hotelsSearched) {
+        this.rooms = rooms;
+        this.totalElements = totalElements;
+        this.hotelsSearched = hotelsSearched;
+    }
+
+    public List<AvailableRoom> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<AvailableRoom> rooms) {
+        this.rooms = rooms;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getHotelsSearched() {
+        return hotelsSearched;
+    }
+
+    public void setHotelsSearched(int hotelsSearched) {
+        this.hotelsSearched = hotelsSearched;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+
+public class AvailableRoom {
+    private int roomId;
+    private int hotelId;
+    private String hotelName;
+    private String city;
+    private String roomNumber;
+    private String roomType;
+    private int capacity;
+    private double pricePerNight;
+    private double totalPrice;
+    private String amenities;
+
+    public AvailableRoom() {}
+
+    public AvailableRoom(Hotel hotel, Room room, long nights) {
+        this.roomId = room.getId();
+        this.hotelId = hotel.getId();
+        this.hotelName = hotel.getName();
+        this.city = hotel.getCity();
+        this.roomNumber = room.getRoomNumber();
+        this.roomType = room.getRoomType();
+        this.capacity = room.getCapacity();
+        this.pricePerNight = room.getPricePerNight();
+        this.totalPrice = room.getPricePerNight() * nights;
+        this.amenities = room.getAmenities();
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+
+    public int getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(int hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    public void setHotelName(String hotelName) {
+        this.hotelName = hotelName;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public double getPricePerNight() {
+        return pricePerNight;
+    }
+
+    public void setPricePerNight(double pricePerNight) {
+        this.pricePerNight = pricePerNight;
+    }
+
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(double totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public String getAmenities() {
+        return amenities;
+    }
+
+    public void setAmenities(String amenities) {
+        this.amenities = amenities;
+    }
+}
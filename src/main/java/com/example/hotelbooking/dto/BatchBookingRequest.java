@@ -0,0 +1,33 @@
+package com.example.hotelbooking.dto;
+
+import java.util.List;
+
+import com.example.hotelbooking.model.Booking;
+
+public class BatchBookingRequest {
+    public static final String ALL_OR_NOTHING = "ALL_OR_NOTHING";
+    public static final String PARTIAL = "PARTIAL";
+
+    private List<Booking> bookings;
+    private String mode = ALL_OR_NOTHING;
+
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<Booking> bookings) {
+        this.bookings = bookings;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public boolean isAllOrNothing() {
+        return !PARTIAL.equalsIgnoreCase(mode);
+    }
+}
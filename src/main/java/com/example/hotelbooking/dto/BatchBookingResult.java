@@ -0,0 +1,58 @@
+package com.example.hotelbooking.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class BatchBookingResult {
+    private final List<Item> items = new ArrayList<>();
+
+    public List<Item> getItems() {
+        items.sort(Comparator.comparingInt(Item::getIndex));
+        return items;
+    }
+
+    public void accept(int index, int bookingId) {
+        items.add(new Item(index, bookingId, null));
+    }
+
+    public void reject(int index, String reason) {
+        items.add(new Item(index, null, reason));
+    }
+
+    public int getAcceptedCount() {
+        return (int) items.stream().filter(Item::isAccepted).count();
+    }
+
+    public int getRejectedCount() {
+        return items.size() - getAcceptedCount();
+    }
+
+    public static class Item {
+        private final int index;
+        private final Integer bookingId;
+        private final String reason;
+
+        public Item(int index, Integer bookingId, String reason) {
+            this.index = index;
+            this.bookingId = bookingId;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Integer getBookingId() {
+            return bookingId;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public boolean isAccepted() {
+            return bookingId != null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.hotelbooking.dto;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.example.hotelbooking.model.BookingStatus;
+
+// Booking count and revenue per status, from one GROUP BY
+public class BookingStatusBreakdown {
+    private final Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+    private final Map<BookingStatus, Double> revenue = new EnumMap<>(BookingStatus.class);
+    private long totalCount; // Includes rows whose status is not a BookingStatus
+
+    public void add(BookingStatus status, long count, double amount) {
+        totalCount += count;
+        if (status != null) {
+            counts.merge(status, count, Long::sum);
+            revenue.merge(status, amount, Double::sum);
+        }
+    }
+
+    public long getCount(BookingStatus status) {
+        return counts.getOrDefault(status, 0L);
+    }
+
+    public double getRevenue(BookingStatus status) {
+        return revenue.getOrDefault(status, 0.0);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    // Summed over the statuses that count as revenue
+    public double getTotalRevenue() {
+        double total = 0;
+        for (Map.Entry<BookingStatus, Double> entry : revenue.entrySet()) {
+            if (entry.getKey().isRevenue()) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+}
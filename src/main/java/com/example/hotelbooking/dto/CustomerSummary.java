@@ -0,0 +1,34 @@
+package com.example.hotelbooking.dto;
+
+// Customer as shown in list views, without the password
+public class CustomerSummary {
+    private int id;
+    private String name;
+    private String email;
+
+    public CustomerSummary() {}
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hotelbooking.dto;
+
+// Row counts for the dashboard; hotels, rooms and users count active rows only
+public class EntityCounts {
+    private long customers;
+    private long hotels;
+    private long rooms;
+    private long users;
+
+    public EntityCounts() {}
+
+    public long getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(long customers) {
+        this.customers = customers;
+    }
+
+    public long getHotels() {
+        return hotels;
+    }
+
+    public void setHotels(long hotels) {
+        this.hotels = hotels;
+    }
+
+    public long getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(long rooms) {
+        this.rooms = rooms;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public void setUsers(long users) {
+        this.users = users;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hotelbooking.dto;
+
+// Hotel as shown in list views; the description is cut to an excerpt
+public class HotelSummary {
+    private int id;
+    private String name;
+    private String address;
+    private String city;
+    private String state;
+    private String country;
+    private Double starRating;
+    private String description; // Excerpt of at most HotelSummaryRowMapper.DESCRIPTION_EXCERPT characters
+
+    public HotelSummary() {}
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public Double getStarRating() {
+        return starRating;
+    }
+
+    public void setStarRating(Double starRating) {
+        this.starRating = starRating;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hotelbooking.dto;
+
+import java.util.Date;
+
+import com.example.hotelbooking.model.User;
+
+// Immutable copy of a user without the password hash, safe to cache and share between requests.
+// last_login is left out so that logins, the most frequent user write, need not evict it.
+public class UserPrincipal {
+    private final int id;
+    private final String username;
+    private final String email;
+    private final String role;
+    private final String firstName;
+    private final String lastName;
+    private final String phone;
+    private final boolean active;
+    private final Date createdAt;
+
+    public UserPrincipal(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.phone = user.getPhone();
+        this.active = user.isActive();
+        this.createdAt = copy(user.getCreatedAt());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Date getCreatedAt() {
+        return copy(createdAt);
+    }
+
+    private static Date copy(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hotelbooking.event;
+
+import java.time.LocalDate;
+
+// A booking on a room (or a hotel-only booking) was created, changed or removed
+public class BookingChanged implements DomainEvent {
+    private final Integer bookingId;
+    private final int hotelId;
+    private final Integer roomId;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+
+    public BookingChanged(Integer bookingId, int hotelId, Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        this.bookingId = bookingId;
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+    }
+
+    public Integer getBookingId() {
+        return bookingId;
+    }
+
+    public int getHotelId() {
+        return hotelId;
+    }
+
+    public Integer getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    // Subscribers reload per room, so all pending changes to one room collapse into one event
+    @Override
+    public Object getCoalescingKey() {
+        return roomId != null ? "booking:room:" + roomId : "booking:hotel:" + hotelId;
+    }
+
+    // The merged event spans every night touched by either change
+    @Override
+    public DomainEvent coalesce(DomainEvent newer) {
+        BookingChanged other = (BookingChanged) newer;
+        LocalDate from = checkIn == null || (other.checkIn != null && other.checkIn.isBefore(checkIn)) ? other.checkIn : checkIn;
+        LocalDate to = checkOut == null || (other.checkOut != null && other.checkOut.isAfter(checkOut)) ? other.checkOut : checkOut;
+        return new BookingChanged(other.bookingId, other.hotelId, other.roomId, from, to);
+    }
+
+    @Override
+    public String toString() {
+        return "BookingChanged{" +
+                "bookingId=" + bookingId +
+                ", hotelId=" + hotelId +
+                ", roomId=" + roomId +
+                ", checkIn=" + checkIn +
+                ", checkOut=" + checkOut +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.hotelbooking.event;
+
+import java.util.Arrays;
+
+import com.example.hotelbooking.model.BookingStatus;
+
+// Change to the booking count and amount per status, for the dashboard totals. A reset carries
+// absolute totals from SQL instead of a delta; it shares the key so the two stay in commit order.
+public class BookingTotalsChanged implements DomainEvent {
+
+    private static final int STATUSES = BookingStatus.values().length;
+
+    private final boolean reset;
+    private final long[] counts;
+    private final double[] amounts;
+    private long otherCount; // Rows whose status is not a BookingStatus
+
+    private BookingTotalsChanged(boolean reset, long[] counts, double[] amounts, long otherCount) {
+        this.reset = reset;
+        this.counts = counts;
+        this.amounts = amounts;
+        this.otherCount = otherCount;
+    }
+
+    // A booking moved from one status and amount to another; a null status means no row
+    public static BookingTotalsChanged of(String oldStatus, Double oldAmount, String newStatus, Double newAmount) {
+        BookingTotalsChanged change = new BookingTotalsChanged(false, new long[STATUSES], new double[STATUSES], 0);
+        change.add(oldStatus, oldAmount, -1);
+        change.add(newStatus, newAmount, 1);
+        return change;
+    }
+
+    public static BookingTotalsChanged reset(long[] counts, double[] amounts, long otherCount) {
+        return new BookingTotalsChanged(true, counts.clone(), amounts.clone(), otherCount);
+    }
+
+    private void add(String status, Double amount, int sign) {
+        if (status == null) {
+            return;
+        }
+        BookingStatus known = BookingStatus.fromString(status);
+        if (known == null) {
+            otherCount += sign;
+            return;
+        }
+        counts[known.ordinal()] += sign;
+        amounts[known.ordinal()] += sign * (amount != null ? amount : 0);
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public long getCount(BookingStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    public double getAmount(BookingStatus status) {
+        return amounts[status.ordinal()];
+    }
+
+    public long getOtherCount() {
+        return otherCount;
+    }
+
+    @Override
+    public Object getCoalescingKey() {
+        return "booking:totals";
+    }
+
+    // Deltas add up; a newer reset replaces everything before it, and deltas after a reset apply on top of it
+    @Override
+    public DomainEvent coalesce(DomainEvent newer) {
+        BookingTotalsChanged other = (BookingTotalsChanged) newer;
+        if (other.reset) {
+            return other;
+        }
+        long[] mergedCounts = new long[STATUSES];
+        double[] mergedAmounts = new double[STATUSES];
+        for (int i = 0; i < STATUSES; i++) {
+            mergedCounts[i] = counts[i] + other.counts[i];
+            mergedAmounts[i] = amounts[i] + other.amounts[i];
+        }
+        return new BookingTotalsChanged(reset, mergedCounts, mergedAmounts, otherCount + other.otherCount);
+    }
+
+    @Override
+    public String toString() {
+        return "BookingTotalsChanged{" +
+                "reset=" + reset +
+                ", counts=" + Arrays.toString(counts) +
+                ", amounts=" + Arrays.toString(amounts) +
+                ", otherCount=" + otherCount +
+                '}';
+    }
+}
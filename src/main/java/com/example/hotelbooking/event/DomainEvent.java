@@ -0,0 +1,12 @@
+package com.example.hotelbooking.event;
+
+// Published by the DAOs after a committed write
+public interface DomainEvent {
+
+    // Events with equal keys that are still waiting for dispatch are merged into one
+    Object getCoalescingKey();
+
+    default DomainEvent coalesce(DomainEvent newer) {
+        return newer;
+    }
+}
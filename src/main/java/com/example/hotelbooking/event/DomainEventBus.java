@@ -0,0 +1,174 @@
+package com.example.hotelbooking.event;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// In-process bus for DAO change events. Publishing never blocks: events are parked per coalescing key
+// and a single dispatcher thread delivers them, so a burst of writes to one room costs one refresh.
+@Component
+public class DomainEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Each pending key is in the queue exactly once; its event keeps absorbing newer ones until dispatched
+    private final Queue<Object> keys = new ConcurrentLinkedQueue<>();
+    private final Map<Object, Pending> pending = new ConcurrentHashMap<>();
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private Timer lag;
+    private volatile Thread dispatcher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (meterRegistry != null) {
+            Gauge.builder("domain.events.queue.depth", pending, Map::size)
+                    .description("Change events waiting for dispatch")
+                    .register(meterRegistry);
+            lag = Timer.builder("domain.events.lag")
+                    .description("Time from publish to dispatch of a change event")
+                    .register(meterRegistry);
+            FunctionCounter.builder("domain.events.published", published, LongAdder::sum).register(meterRegistry);
+            FunctionCounter.builder("domain.events.coalesced", coalesced, LongAdder::sum).register(meterRegistry);
+            FunctionCounter.builder("domain.events.dispatched", dispatched, LongAdder::sum).register(meterRegistry);
+        }
+        running = true;
+        Thread thread = new Thread(this::run, "domain-event-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+    }
+
+    public <T extends DomainEvent> void subscribe(Class<T> type, Consumer<? super T> handler) {
+        subscriptions.add(new Subscription<>(type, handler));
+    }
+
+    // Inside a transaction the event waits for commit and is dropped on rollback
+    public void publish(DomainEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    private void enqueue(DomainEvent event) {
+        published.increment();
+        Object key = event.getCoalescingKey();
+        boolean[] added = new boolean[1];
+        pending.compute(key, (k, current) -> {
+            if (current == null) {
+                added[0] = true;
+                return new Pending(event, System.nanoTime());
+            }
+            coalesced.increment();
+            current.event = current.event.coalesce(event);
+            return current;
+        });
+        if (added[0]) {
+            keys.offer(key);
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            Object key = keys.poll();
+            if (key == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            Pending next = pending.remove(key);
+            if (next == null) {
+                continue;
+            }
+            if (lag != null) {
+                lag.record(System.nanoTime() - next.publishedAt, TimeUnit.NANOSECONDS);
+            }
+            dispatch(next.event);
+        }
+    }
+
+    private void dispatch(DomainEvent event) {
+        dispatched.increment();
+        for (Subscription<?> subscription : subscriptions) {
+            try {
+                subscription.deliver(event);
+            } catch (RuntimeException e) {
+                // A failing subscriber must not starve the others
+                logger.error("Subscriber failed for {}", event, e);
+            }
+        }
+    }
+
+    private static class Pending {
+        private DomainEvent event;
+        private final long publishedAt; // Of the oldest merged event, so lag covers the whole wait
+
+        Pending(DomainEvent event, long publishedAt) {
+            this.event = event;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    private static class Subscription<T extends DomainEvent> {
+        private final Class<T> type;
+        private final Consumer<? super T> handler;
+
+        Subscription(Class<T> type, Consumer<? super T> handler) {
+            this.type = type;
+            this.handler = handler;
+        }
+
+        void deliver(DomainEvent event) {
+            if (type.isInstance(event)) {
+                handler.accept(type.cast(event));
+            }
+        }
+    }
+}
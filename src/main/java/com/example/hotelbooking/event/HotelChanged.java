@@ -0,0 +1,24 @@
+package com.example.hotelbooking.event;
+
+// A hotel was added, edited or deactivated
+public class HotelChanged implements DomainEvent {
+    private final int hotelId;
+
+    public HotelChanged(int hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public int getHotelId() {
+        return hotelId;
+    }
+
+    @Override
+    public Object getCoalescingKey() {
+        return "hotel:" + hotelId;
+    }
+
+    @Override
+    public String toString() {
+        return "HotelChanged{hotelId=" + hotelId + '}';
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hotelbooking.event;
+
+// A room was added, edited, deactivated or taken in or out of service
+public class RoomChanged implements DomainEvent {
+    private final int roomId;
+    private final Integer hotelId; // Null when the writer did not know it
+
+    public RoomChanged(int roomId, Integer hotelId) {
+        this.roomId = roomId;
+        this.hotelId = hotelId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public Integer getHotelId() {
+        return hotelId;
+    }
+
+    @Override
+    public Object getCoalescingKey() {
+        return "room:" + roomId;
+    }
+
+    @Override
+    public DomainEvent coalesce(DomainEvent newer) {
+        RoomChanged other = (RoomChanged) newer;
+        return new RoomChanged(roomId, other.hotelId != null ? other.hotelId : hotelId);
+    }
+
+    @Override
+    public String toString() {
+        return "RoomChanged{roomId=" + roomId + ", hotelId=" + hotelId + '}';
+    }
+}
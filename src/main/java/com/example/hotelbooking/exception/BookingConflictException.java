@@ -0,0 +1,7 @@
+package com.example.hotelbooking.exception;
+
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -15,6 +15,7 @@ public class Booking {
     private String specialRequests;
     private Date createdAt;
     private Date updatedAt;
+    private Integer version; // Optimistic lock; null on updates skips the check
 
     // Default constructor
     public Booking() {}
@@ -132,6 +133,14 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Booking{" +
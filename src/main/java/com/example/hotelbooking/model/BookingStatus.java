@@ -0,0 +1,56 @@
+package com.example.hotelbooking.model;
+
+import java.util.StringJoiner;
+
+// Values of bookings.status; Booking itself keeps the status as a string
+public enum BookingStatus {
+    PENDING(false, true),
+    CONFIRMED(true, true),
+    CHECKED_IN(true, true),
+    CHECKED_OUT(true, false),
+    CANCELLED(false, false);
+
+    // SQL list of the statuses that occupy a room, for "status IN " + BLOCKING_SQL. Reservation checks
+    // and availability search both use it, so search never offers a room a reservation would reject.
+    public static final String BLOCKING_SQL = blockingSql();
+
+    private final boolean revenue;
+    private final boolean blocking;
+
+    BookingStatus(boolean revenue, boolean blocking) {
+        this.revenue = revenue;
+        this.blocking = blocking;
+    }
+
+    // Whether bookings in this status count towards total revenue
+    public boolean isRevenue() {
+        return revenue;
+    }
+
+    // Whether a booking in this status keeps its room from being booked for the same nights
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    // Null for statuses this enum does not know
+    public static BookingStatus fromString(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String blockingSql() {
+        StringJoiner list = new StringJoiner(", ", "(", ")");
+        for (BookingStatus status : values()) {
+            if (status.blocking) {
+                list.add("'" + status.name() + "'");
+            }
+        }
+        return list.toString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.hotelbooking.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.hotelbooking.dao.HotelDAO;
+import com.example.hotelbooking.dao.RoomDAO;
+import com.example.hotelbooking.dto.AvailabilitySearchResult;
+import com.example.hotelbooking.dto.AvailableRoom;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+
+@Service
+public class AvailabilitySearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilitySearchService.class);
+
+    private static final Comparator<AvailableRoom> BY_PRICE = Comparator
+            .comparingDouble(AvailableRoom::getPricePerNight)
+            .thenComparingInt(AvailableRoom::getHotelId)
+            .thenComparingInt(AvailableRoom::getRoomId);
+
+    @Autowired
+    private HotelDAO hotelDAO;
+
+    @Autowired
+    private RoomDAO roomDAO;
+
+    @Value("${booking.availability.search.threads:8}")
+    private int threads;
+
+    @Value("${booking.availability.search.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${booking.availability.search.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        // Bounded queue; once it fills up the request thread evaluates hotels itself
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "availability-search-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public AvailabilitySearchResult search(LocalDate checkIn, LocalDate checkOut, String city,
+                                           String roomType, int guests, int page, int size) {
+        List<Hotel> hotels = (city == null || city.trim().isEmpty())
+                ? hotelDAO.getAllHotels()
+                : hotelDAO.getHotelsByCity(city.trim());
+
+        Date in = java.sql.Date.valueOf(checkIn);
+        Date out = java.sql.Date.valueOf(checkOut);
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+
+        List<Future<List<AvailableRoom>>> futures = new ArrayList<>(hotels.size());
+        for (Hotel hotel : hotels) {
+            futures.add(executor.submit(() -> evaluateHotel(hotel, in, out, nights, roomType, guests)));
+        }
+
+        List<List<AvailableRoom>> perHotel = new ArrayList<>(hotels.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            for (Future<List<AvailableRoom>> future : futures) {
+                perHotel.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            futures.forEach(f -> f.cancel(true));
+            logger.warn("Availability search over {} hotels timed out after {}ms", hotels.size(), timeoutMs);
+            throw new IllegalStateException("Availability search timed out");
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Availability search interrupted");
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Availability search failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        return mergePage(perHotel, page, size, hotels.size());
+    }
+
+    // Each hotel's list is already sorted, so a k-way merge only walks as far as the requested page
+    private AvailabilitySearchResult mergePage(List<List<AvailableRoom>> perHotel, int page, int size, int hotelsSearched) {
+        long total = 0;
+        PriorityQueue<HotelCursor> heap = new PriorityQueue<>(
+                Math.max(1, perHotel.size()), (a, b) -> BY_PRICE.compare(a.head(), b.head()));
+        for (List<AvailableRoom> rooms : perHotel) {
+            total += rooms.size();
+            if (!rooms.isEmpty()) {
+                heap.add(new HotelCursor(rooms));
+            }
+        }
+
+        long skip = (long) page * size;
+        List<AvailableRoom> pageRooms = new ArrayList<>(size);
+        while (!heap.isEmpty() && pageRooms.size() < size) {
+            HotelCursor cursor = heap.poll();
+            AvailableRoom room = cursor.head();
+            if (skip > 0) {
+                skip--;
+            } else {
+                pageRooms.add(room);
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return new AvailabilitySearchResult(pageRooms, total, hotelsSearched);
+    }
+
+    private List<AvailableRoom> evaluateHotel(Hotel hotel, Date checkIn, Date checkOut, long nights,
+                                              String roomType, int guests) {
+        List<AvailableRoom> matches = new ArrayList<>();
+        for (Room room : roomDAO.getAvailableRooms(hotel.getId(), checkIn, checkOut)) {
+            if (room.getCapacity() < guests) {
+                continue;
+            }
+            if (roomType != null && !roomType.isEmpty() && !roomType.equalsIgnoreCase(room.getRoomType())) {
+                continue;
+            }
+            matches.add(new AvailableRoom(hotel, room, nights));
+        }
+        matches.sort(BY_PRICE);
+        return matches;
+    }
+
+    private static class HotelCursor {
+        private final List<AvailableRoom> rooms;
+        private int position;
+
+        HotelCursor(List<AvailableRoom> rooms) {
+            this.rooms = rooms;
+        }
+
+        AvailableRoom head() {
+            return rooms.get(position);
+        }
+
+        boolean advance() {
+            return ++position < rooms.size();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.hotelbooking.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.dao.BookingDAO;
+import com.example.hotelbooking.model.Booking;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Writes bookings to a response stream as the DAO reads them; at most one row is held at a time
+@Component
+public class BookingExporter {
+
+    private static final String CSV_HEADER = "id,customer_id,hotel_id,room_id,check_in_date,check_out_date,"
+            + "booking_date,total_amount,status,special_requests,created_at,updated_at,version";
+
+    @Autowired
+    private BookingDAO bookingDAO;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // One full Booking per line, serialized the same way as GET /api/bookings/{id}
+    public void writeNdjson(LocalDate from, LocalDate to, String status, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Booking.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by the newline below; the default separator would also start each with a space
+        generator.setRootValueSeparator(null);
+        try {
+            bookingDAO.exportBookings(from, to, status, booking -> {
+                try {
+                    writer.writeValue(generator, booking);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    // Unchecked so the row callback aborts the query when the client goes away
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+    }
+
+    public void writeCsv(LocalDate from, LocalDate to, String status, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        try {
+            bookingDAO.exportBookings(from, to, status, booking -> {
+                try {
+                    writeCsvRow(writer, booking);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Booking b) throws IOException {
+        writer.write(String.valueOf(b.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(b.getCustomerId()));
+        writer.write(',');
+        writer.write(String.valueOf(b.getHotelId()));
+        writer.write(',');
+        writer.write(b.getRoomId() != null ? b.getRoomId().toString() : "");
+        writer.write(',');
+        writer.write(day(b.getCheckInDate()));
+        writer.write(',');
+        writer.write(day(b.getCheckOutDate()));
+        writer.write(',');
+        writer.write(instant(b.getBookingDate()));
+        writer.write(',');
+        writer.write(b.getTotalAmount() != null ? b.getTotalAmount().toString() : "");
+        writer.write(',');
+        writer.write(quote(b.getStatus()));
+        writer.write(',');
+        writer.write(quote(b.getSpecialRequests()));
+        writer.write(',');
+        writer.write(instant(b.getCreatedAt()));
+        writer.write(',');
+        writer.write(instant(b.getUpdatedAt()));
+        writer.write(',');
+        writer.write(b.getVersion() != null ? b.getVersion().toString() : "");
+        writer.write("\r\n");
+    }
+
+    private static String day(Date date) {
+        return date != null ? RoomAvailabilityIndex.toLocalDate(date).toString() : "";
+    }
+
+    private static String instant(Date date) {
+        return date != null ? Instant.ofEpochMilli(date.getTime()).toString() : "";
+    }
+
+    // RFC 4180: quote only when needed, doubling embedded quotes
+    static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
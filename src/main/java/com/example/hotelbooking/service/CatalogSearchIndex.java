@@ -0,0 +1,193 @@
+package com.example.hotelbooking.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.dao.HotelDAO;
+import com.example.hotelbooking.dao.Page;
+import com.example.hotelbooking.dao.PageRequest;
+import com.example.hotelbooking.dao.RoomDAO;
+import com.example.hotelbooking.dto.HotelSummary;
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.event.HotelChanged;
+import com.example.hotelbooking.event.RoomChanged;
+import com.example.hotelbooking.model.Room;
+import com.example.hotelbooking.util.TrigramIndex;
+
+// Trigram search over active hotels (name, city, address) and rooms (type, amenities, number), served
+// from memory. Built at startup and kept current from HotelChanged/RoomChanged.
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    @Autowired
+    private HotelDAO hotelDAO;
+
+    @Autowired
+    private RoomDAO roomDAO;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Value("${booking.search.index.enabled:true}")
+    private boolean enabled;
+
+    private final TrigramIndex hotelIndex = new TrigramIndex();
+    private final TrigramIndex roomIndex = new TrigramIndex();
+    private final Map<Integer, HotelSummary> hotels = new ConcurrentHashMap<>();
+    private final Map<Integer, Room> rooms = new ConcurrentHashMap<>();
+    // Serialises index writers: the startup build and the event dispatcher
+    private final Object writeLock = new Object();
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void subscribe() {
+        eventBus.subscribe(HotelChanged.class, event -> refreshHotel(event.getHotelId()));
+        eventBus.subscribe(RoomChanged.class, event -> refreshRoom(event.getRoomId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Catalog search index disabled, searching in the database");
+            return;
+        }
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            Map<Integer, String> hotelDocuments = new HashMap<>();
+            hotels.clear();
+            for (HotelSummary hotel : hotelDAO.getHotelSummaries()) {
+                hotels.put(hotel.getId(), hotel);
+                hotelDocuments.put(hotel.getId(), document(hotel));
+            }
+            hotelIndex.rebuild(hotelDocuments);
+
+            Map<Integer, String> roomDocuments = new HashMap<>();
+            rooms.clear();
+            for (Room room : roomDAO.getAllRooms()) {
+                rooms.put(room.getId(), room);
+                roomDocuments.put(room.getId(), document(room));
+            }
+            roomIndex.rebuild(roomDocuments);
+            ready = true;
+            catalogVersions.hotelsChanged();
+            catalogVersions.roomsChanged();
+            logger.info("Catalog search index built for {} hotels and {} rooms in {}ms",
+                        hotels.size(), rooms.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    // Null when the index is off or the term has nothing to search for; callers then use the DAO
+    public Page<HotelSummary> searchHotels(String search, PageRequest pageRequest) {
+        int[] ids = isActive() ? hotelIndex.search(search) : null;
+        if (ids == null) {
+            return null;
+        }
+        List<HotelSummary> matches = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            HotelSummary hotel = hotels.get(id);
+            if (hotel != null) {
+                matches.add(hotel);
+            }
+        }
+        return page(matches, pageRequest);
+    }
+
+    // Same contract as searchHotels; hotelId 0 searches every hotel
+    public Page<Room> searchRooms(int hotelId, String search, PageRequest pageRequest) {
+        int[] ids = isActive() ? roomIndex.search(search) : null;
+        if (ids == null) {
+            return null;
+        }
+        List<Room> matches = new ArrayList<>();
+        for (int id : ids) {
+            Room room = rooms.get(id);
+            if (room != null && (hotelId <= 0 || room.getHotelId() == hotelId)) {
+                matches.add(room);
+            }
+        }
+        return page(matches, pageRequest);
+    }
+
+    // Not gated on ready: a change that lands while rebuild() runs waits for writeLock and is applied
+    // after it, instead of being lost if the build had already read the old row
+    private void refreshHotel(int hotelId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            HotelSummary hotel = hotelDAO.getHotelSummaryById(hotelId);
+            if (hotel == null) {
+                hotels.remove(hotelId);
+                hotelIndex.remove(hotelId);
+            } else {
+                hotels.put(hotelId, hotel);
+                hotelIndex.put(hotelId, document(hotel));
+            }
+            // Search results change only now, after the DAO's own bump
+            catalogVersions.hotelsChanged();
+        }
+    }
+
+    private void refreshRoom(int roomId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            Room room = roomDAO.getRoomById(roomId);
+            if (room == null) {
+                rooms.remove(roomId);
+                roomIndex.remove(roomId);
+            } else {
+                rooms.put(roomId, room);
+                roomIndex.put(roomId, document(room));
+            }
+            catalogVersions.roomsChanged();
+        }
+    }
+
+    private static <T> Page<T> page(List<T> matches, PageRequest pageRequest) {
+        int from = (int) Math.min(pageRequest.getOffset(), matches.size());
+        int to = Math.min(from + pageRequest.getSize(), matches.size());
+        return new Page<>(new ArrayList<>(matches.subList(from, to)), matches.size(), pageRequest);
+    }
+
+    private static String document(HotelSummary hotel) {
+        return join(hotel.getName(), hotel.getCity(), hotel.getAddress());
+    }
+
+    private static String document(Room room) {
+        return join(room.getRoomType(), room.getAmenities(), room.getRoomNumber());
+    }
+
+    private static String join(String... fields) {
+        StringBuilder document = new StringBuilder();
+        for (String field : fields) {
+            if (field != null) {
+                document.append(field).append(' ');
+            }
+        }
+        return document.toString();
+    }
+}
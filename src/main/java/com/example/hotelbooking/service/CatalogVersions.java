@@ -0,0 +1,58 @@
+package com.example.hotelbooking.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+// Change counters for the hotels and rooms tables, bumped by the DAO writes and again once the search
+// index has applied them. A catalog response is tagged with the version read before it was built, so
+// an unchanged version means an unchanged response and conditional GETs can be answered from here.
+@Component
+public class CatalogVersions {
+
+    // Versions restart with the JVM; the start time keeps old ETags from matching after a restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Version hotels = new Version("h");
+    private final Version rooms = new Version("r");
+
+    public void hotelsChanged() {
+        hotels.bump();
+    }
+
+    public void roomsChanged() {
+        rooms.bump();
+    }
+
+    public Version getHotels() {
+        return hotels;
+    }
+
+    public Version getRooms() {
+        return rooms;
+    }
+
+    public class Version {
+        private final String prefix;
+        private final AtomicLong counter = new AtomicLong();
+        private volatile long lastModified = System.currentTimeMillis();
+
+        Version(String prefix) {
+            this.prefix = prefix;
+        }
+
+        void bump() {
+            lastModified = System.currentTimeMillis();
+            counter.incrementAndGet();
+        }
+
+        // Strong ETag, quoted as sent in the header
+        public String getETag() {
+            return "\"" + prefix + epoch + "-" + counter.get() + "\"";
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.hotelbooking.service;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.dao.BookingDAO;
+import com.example.hotelbooking.dao.StatisticsDAO;
+import com.example.hotelbooking.dto.BookingStatusBreakdown;
+import com.example.hotelbooking.dto.EntityCounts;
+import com.example.hotelbooking.event.BookingTotalsChanged;
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.model.BookingStatus;
+
+// Dashboard totals kept in memory: booking counts and amounts per status follow every BookingDAO write
+// through BookingTotalsChanged, and everything is reconciled against SQL on a schedule to correct drift.
+@Component
+public class DashboardSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshot.class);
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Autowired
+    private BookingDAO bookingDAO;
+
+    @Autowired
+    private StatisticsDAO statisticsDAO;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    // Replaced whole by the event dispatcher, its only writer, so a read never sees a reset half applied;
+    // null until the first reset, before which deltas have no base to apply to
+    private volatile Totals totals;
+
+    // Entity totals have no deltas and are only refreshed by reconciliation
+    private volatile EntityCounts entityCounts;
+
+    private volatile long reconciledAt;
+
+    @PostConstruct
+    public void subscribe() {
+        eventBus.subscribe(BookingTotalsChanged.class, this::apply);
+    }
+
+    // The seed is a reset like any other, so it is ordered with deltas published around it instead of
+    // overwriting one the dispatcher applies concurrently
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        BookingStatusBreakdown breakdown = bookingDAO.getStatusBreakdown();
+        eventBus.publish(toReset(breakdown));
+        entityCounts = statisticsDAO.getEntityCounts();
+        reconciledAt = System.currentTimeMillis();
+        logger.info("Dashboard snapshot seeded with {} bookings", breakdown.getTotalCount());
+    }
+
+    // The booking totals go through the bus as a reset, so deltas still waiting for dispatch are not lost
+    // or counted twice. A write that commits while the breakdown is read may still be off by one until
+    // the next run. Also retries a seed that failed.
+    @Scheduled(fixedDelayString = "${booking.dashboard.reconcile-ms:60000}",
+               initialDelayString = "${booking.dashboard.reconcile-ms:60000}")
+    public void reconcile() {
+        try {
+            eventBus.publish(toReset(bookingDAO.getStatusBreakdown()));
+            entityCounts = statisticsDAO.getEntityCounts();
+            reconciledAt = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            logger.warn("Dashboard snapshot reconciliation failed, serving the last totals", e);
+        }
+    }
+
+    public boolean isReady() {
+        return totals != null;
+    }
+
+    // Booking count and revenue per status; read from SQL until the snapshot is ready
+    public BookingStatusBreakdown getBookingTotals() {
+        Totals current = totals;
+        if (current == null) {
+            return bookingDAO.getStatusBreakdown();
+        }
+        BookingStatusBreakdown breakdown = new BookingStatusBreakdown();
+        for (BookingStatus status : STATUSES) {
+            breakdown.add(status, current.counts[status.ordinal()], current.amounts[status.ordinal()]);
+        }
+        breakdown.add(null, current.otherCount, 0);
+        return breakdown;
+    }
+
+    public EntityCounts getEntityCounts() {
+        EntityCounts current = entityCounts;
+        return current != null ? current : statisticsDAO.getEntityCounts();
+    }
+
+    // Time since the totals were last checked against SQL; zero while they are read from SQL directly
+    public long getAgeMillis() {
+        return totals != null ? System.currentTimeMillis() - reconciledAt : 0;
+    }
+
+    private void apply(BookingTotalsChanged change) {
+        if (change.isReset()) {
+            totals = new Totals(new long[STATUSES.length], new double[STATUSES.length], 0).plus(change);
+        } else if (totals != null) {
+            totals = totals.plus(change);
+        }
+    }
+
+    private static BookingTotalsChanged toReset(BookingStatusBreakdown breakdown) {
+        long[] statusCounts = new long[STATUSES.length];
+        double[] statusAmounts = new double[STATUSES.length];
+        long known = 0;
+        for (BookingStatus status : STATUSES) {
+            statusCounts[status.ordinal()] = breakdown.getCount(status);
+            statusAmounts[status.ordinal()] = breakdown.getRevenue(status);
+            known += statusCounts[status.ordinal()];
+        }
+        return BookingTotalsChanged.reset(statusCounts, statusAmounts, breakdown.getTotalCount() - known);
+    }
+
+    private static class Totals {
+        private final long[] counts;
+        private final double[] amounts;
+        private final long otherCount;
+
+        Totals(long[] counts, double[] amounts, long otherCount) {
+            this.counts = counts;
+            this.amounts = amounts;
+            this.otherCount = otherCount;
+        }
+
+        Totals plus(BookingTotalsChanged change) {
+            long[] nextCounts = counts.clone();
+            double[] nextAmounts = amounts.clone();
+            for (BookingStatus status : STATUSES) {
+                nextCounts[status.ordinal()] += change.getCount(status);
+                nextAmounts[status.ordinal()] += change.getAmount(status);
+            }
+            return new Totals(nextCounts, nextAmounts, otherCount + change.getOtherCount());
+        }
+    }
+}
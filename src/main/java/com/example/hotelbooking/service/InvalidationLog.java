@@ -0,0 +1,173 @@
+package com.example.hotelbooking.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Cache coherence between nodes sharing one database, without a broker. DAO writes append (entity, id)
+// to invalidation_log in the same transaction as the change, and every node polls the log by seq and
+// evicts what the other nodes changed, so a node serves stale entries for at most about one poll.
+@Component
+public class InvalidationLog {
+
+    public static final String HOTEL = "hotel";
+    public static final String ROOM = "room";
+    public static final String HOTEL_ROOMS = "hotel_rooms"; // entity_id is the hotel whose room list changed
+    public static final String USER = "user";
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationLog.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.invalidation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.invalidation.gap-timeout-ms:10000}")
+    private long gapTimeoutMillis;
+
+    @Value("${booking.invalidation.late-grace-ms:300000}")
+    private long lateGraceMillis;
+
+    @Value("${booking.invalidation.retention-hours:24}")
+    private long retentionHours;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<IntConsumer>> handlers = new ConcurrentHashMap<>();
+
+    // Guarded by this. Every seq up to cursor has been handled except those in skipped; pending holds
+    // seqs read above a gap, and skipped the gaps the cursor gave up on, each with when that happened.
+    private long cursor;
+    private final TreeMap<Long, Long> pending = new TreeMap<>();
+    private final TreeMap<Long, Long> skipped = new TreeMap<>();
+
+    // Entries written before this node started cannot concern its caches, which start empty
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM invalidation_log", Long.class);
+        cursor = max != null ? max : 0;
+    }
+
+    // Called by a DAO for each entry a node must evict on another node's write
+    public void subscribe(String entity, IntConsumer handler) {
+        handlers.computeIfAbsent(entity, k -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    // Must run inside the transaction of the change, so the entry commits or rolls back with it
+    public void append(String entity, int id) {
+        if (enabled) {
+            jdbcTemplate.update("INSERT INTO invalidation_log(entity, entity_id, node_id) VALUES (?, ?, ?)",
+                    entity, id, nodeId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.invalidation.poll-ms:1000}")
+    public synchronized void poll() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String sql = "SELECT seq, entity, entity_id, node_id FROM invalidation_log WHERE seq > ? ORDER BY seq LIMIT ?";
+        try {
+            rescanSkipped(now);
+            jdbcTemplate.query(sql, rs -> {
+                if (pending.putIfAbsent(rs.getLong("seq"), now) == null) {
+                    handle(rs);
+                }
+            }, cursor, batchSize);
+        } catch (DataAccessException e) {
+            logger.warn("Polling the invalidation log failed, retrying after the next delay", e);
+            return;
+        }
+        advance(now);
+    }
+
+    // A seq is taken at insert but seen at commit, so a later seq can become visible before an earlier one.
+    // The cursor waits at a gap until the missing seq shows up, or for gap-timeout, after which it moves on
+    // and the gap is re-checked by rescanSkipped; entries above the gap are evicted meanwhile, but only once.
+    private void advance(long now) {
+        while (!pending.isEmpty()) {
+            Map.Entry<Long, Long> first = pending.firstEntry();
+            if (first.getKey() != cursor + 1 && now - first.getValue() < gapTimeoutMillis) {
+                return;
+            }
+            for (long seq = cursor + 1; seq < first.getKey(); seq++) {
+                skipped.put(seq, now);
+            }
+            cursor = first.getKey();
+            pending.pollFirstEntry();
+        }
+    }
+
+    // Nothing else expires the hotel room lists or the search index, so a gap the cursor passed is not
+    // given up on until late-grace: a transaction that commits its entry that late is still applied.
+    // After that the gap is taken to be a rolled-back insert.
+    private void rescanSkipped(long now) {
+        skipped.values().removeIf(skippedAt -> now - skippedAt >= lateGraceMillis);
+        if (skipped.isEmpty()) {
+            return;
+        }
+        String sql = "SELECT seq, entity, entity_id, node_id FROM invalidation_log WHERE seq BETWEEN ? AND ?";
+        jdbcTemplate.query(sql, rs -> {
+            if (skipped.remove(rs.getLong("seq")) != null) {
+                handle(rs);
+            }
+        }, skipped.firstKey(), skipped.lastKey());
+    }
+
+    private void handle(ResultSet rs) throws SQLException {
+        // This node evicted its own entries when it wrote them
+        if (!nodeId.equals(rs.getString("node_id"))) {
+            evict(rs.getString("entity"), rs.getInt("entity_id"));
+        }
+    }
+
+    private void evict(String entity, int id) {
+        for (IntConsumer handler : handlers.getOrDefault(entity, List.of())) {
+            try {
+                handler.accept(id);
+            } catch (RuntimeException e) {
+                logger.error("Invalidation of {} {} failed", entity, id, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.invalidation.prune-ms:3600000}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours));
+        try {
+            int removed = jdbcTemplate.update("DELETE FROM invalidation_log WHERE created_at < ?", cutoff);
+            logger.debug("Pruned {} invalidation log entries", removed);
+        } catch (DataAccessException e) {
+            logger.warn("Pruning the invalidation log failed", e);
+        }
+    }
+}
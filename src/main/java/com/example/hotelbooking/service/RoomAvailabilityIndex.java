@@ -0,0 +1,178 @@
+package com.example.hotelbooking.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.event.BookingChanged;
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.model.BookingStatus;
+import com.example.hotelbooking.util.NightBitSet;
+
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    // Night 0 of every bitset; earlier nights are in the past and never queried
+    public static final LocalDate EPOCH = LocalDate.of(2020, 1, 1);
+    public static final int MAX_NIGHTS = 366 * 30;
+
+    private static final String OCCUPYING_STATUSES = BookingStatus.BLOCKING_SQL;
+    private static final NightBitSet EMPTY = new NightBitSet();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Value("${booking.availability.index.enabled:true}")
+    private boolean enabled;
+
+    // Each bitset is replaced, never mutated, once published so readers need no locking
+    private final Map<Integer, NightBitSet> rooms = new ConcurrentHashMap<>();
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean ready;
+
+    // Notified with before/after bitsets so derived counters can apply deltas
+    public interface Listener {
+        void roomsRebuilt(Map<Integer, NightBitSet> rooms);
+
+        void roomChanged(int roomId, NightBitSet before, NightBitSet after);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        eventBus.subscribe(BookingChanged.class, event -> refreshRoom(event.getRoomId()));
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("Room availability index disabled, using SQL availability checks");
+            return;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            long start = System.currentTimeMillis();
+            Map<Integer, NightBitSet> built = new HashMap<>();
+            String sql = "SELECT room_id, check_in_date, check_out_date FROM bookings " +
+                        "WHERE room_id IS NOT NULL AND status IN " + OCCUPYING_STATUSES;
+            jdbcTemplate.query(sql, rs -> {
+                NightBitSet nights = built.computeIfAbsent(rs.getInt("room_id"), k -> new NightBitSet());
+                nights.set(nightOf(rs.getDate("check_in_date")), nightOf(rs.getDate("check_out_date")));
+            });
+            rooms.clear();
+            rooms.putAll(built);
+            ready = true;
+            Map<Integer, NightBitSet> snapshot = Collections.unmodifiableMap(built);
+            for (Listener listener : listeners) {
+                listener.roomsRebuilt(snapshot);
+            }
+            logger.info("Room availability index built for {} rooms in {}ms", built.size(), System.currentTimeMillis() - start);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    // Whether the index can answer for this range; dates past the horizon go to SQL
+    public boolean covers(Date checkIn, Date checkOut) {
+        return isActive() && daysSinceEpoch(checkOut) <= MAX_NIGHTS;
+    }
+
+    // Occupied nights of one room; the returned bitset must not be modified
+    public NightBitSet getNights(int roomId) {
+        NightBitSet nights = rooms.get(roomId);
+        return nights != null ? nights : EMPTY;
+    }
+
+    public boolean isAvailable(int roomId, Date checkIn, Date checkOut) {
+        NightBitSet nights = rooms.get(roomId);
+        return nights == null || !nights.intersects(nightOf(checkIn), nightOf(checkOut));
+    }
+
+    // Reload one room's occupied nights after a booking write; driven by BookingChanged events
+    public void refreshRoom(Integer roomId) {
+        if (roomId == null || !isActive()) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            NightBitSet[] before = new NightBitSet[1];
+            NightBitSet after = rooms.compute(roomId, (id, previous) -> {
+                before[0] = previous;
+                return loadRoom(id);
+            });
+            for (Listener listener : listeners) {
+                listener.roomChanged(roomId, before[0] != null ? before[0] : EMPTY, after != null ? after : EMPTY);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private NightBitSet loadRoom(int roomId) {
+        String sql = "SELECT check_in_date, check_out_date FROM bookings WHERE room_id = ? AND status IN " + OCCUPYING_STATUSES;
+        NightBitSet nights = new NightBitSet();
+        jdbcTemplate.query(sql, rs -> {
+            nights.set(nightOf(rs.getDate("check_in_date")), nightOf(rs.getDate("check_out_date")));
+        }, roomId);
+        return nights.isEmpty() ? null : nights;
+    }
+
+    // nightOf clamps, so callers taking a range from a request check it against the index first
+    public static boolean isWithinRange(LocalDate from, LocalDate to) {
+        return !from.isBefore(EPOCH) && !to.isAfter(EPOCH.plusDays(MAX_NIGHTS));
+    }
+
+    public static int nightOf(Date date) {
+        long days = daysSinceEpoch(date);
+        return (int) Math.max(0, Math.min(days, MAX_NIGHTS));
+    }
+
+    public static int nightOf(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(EPOCH, date);
+        return (int) Math.max(0, Math.min(days, MAX_NIGHTS));
+    }
+
+    public static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date) {
+            return ((java.sql.Date) date).toLocalDate();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static long daysSinceEpoch(Date date) {
+        return ChronoUnit.DAYS.between(EPOCH, toLocalDate(date));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.hotelbooking.service;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.event.BookingChanged;
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.model.BookingStatus;
+import com.example.hotelbooking.util.NightBitSet;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Occupied nights per room for the calendar view, loaded on first request and dropped on BookingChanged
+@Component
+public class RoomCalendarCache {
+
+    private static final String OCCUPYING_STATUSES = BookingStatus.BLOCKING_SQL;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    @Value("${booking.calendar.cache.max-rooms:10000}")
+    private int maxRooms;
+
+    // A future per room, so the query runs outside the cache's locks and concurrent readers wait for one load
+    private Cache<Integer, CompletableFuture<NightBitSet>> rooms;
+
+    @PostConstruct
+    public void subscribe() {
+        rooms = Caffeine.newBuilder().maximumSize(maxRooms).build();
+        eventBus.subscribe(BookingChanged.class, event -> invalidate(event.getRoomId()));
+    }
+
+    // The returned bitset must not be modified
+    public NightBitSet getNights(int roomId) {
+        CompletableFuture<NightBitSet> loading = new CompletableFuture<>();
+        CompletableFuture<NightBitSet> cached = rooms.asMap().putIfAbsent(roomId, loading);
+        if (cached != null) {
+            return cached.join();
+        }
+        // An invalidate during the load removes the future, so a stale load is returned to its callers
+        // but never kept
+        try {
+            loading.complete(load(roomId));
+        } catch (RuntimeException e) {
+            rooms.asMap().remove(roomId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        return loading.join();
+    }
+
+    public void invalidate(Integer roomId) {
+        if (roomId != null) {
+            rooms.invalidate(roomId);
+        }
+    }
+
+    // Occupied nights in [from, to) as base64, bit i set when night from + i is taken
+    public String encodeBitset(int roomId, int from, int to) {
+        return Base64.getEncoder().encodeToString(getNights(roomId).toByteArray(from, to));
+    }
+
+    // Occupied nights in [from, to) as [offset, length] runs
+    public List<int[]> encodeRuns(int roomId, int from, int to) {
+        NightBitSet nights = getNights(roomId);
+        List<int[]> runs = new ArrayList<>();
+        int night = from;
+        while (night < to) {
+            if (!nights.get(night)) {
+                night++;
+                continue;
+            }
+            int start = night;
+            while (night < to && nights.get(night)) {
+                night++;
+            }
+            runs.add(new int[] {start - from, night - start});
+        }
+        return runs;
+    }
+
+    private NightBitSet load(int roomId) {
+        String sql = "SELECT check_in_date, check_out_date FROM bookings WHERE room_id = ? AND status IN " + OCCUPYING_STATUSES;
+        NightBitSet nights = new NightBitSet();
+        jdbcTemplate.query(sql, rs -> {
+            nights.set(RoomAvailabilityIndex.nightOf(rs.getDate("check_in_date")),
+                       RoomAvailabilityIndex.nightOf(rs.getDate("check_out_date")));
+        }, roomId);
+        return nights;
+    }
+}
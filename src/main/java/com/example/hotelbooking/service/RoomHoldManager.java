@@ -0,0 +1,169 @@
+package com.example.hotelbooking.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.exception.BookingConflictException;
+import com.example.hotelbooking.model.RoomHold;
+import com.example.hotelbooking.util.HashedTimingWheel;
+
+// In-memory room holds; expiry is driven by one timing wheel instead of a scheduled task per hold
+@Component
+public class RoomHoldManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomHoldManager.class);
+
+    @Value("${booking.hold.ttl-seconds:600}")
+    private long defaultTtlSeconds;
+
+    @Value("${booking.hold.max-ttl-seconds:1800}")
+    private long maxTtlSeconds;
+
+    @Value("${booking.hold.tick-ms:100}")
+    private long tickMillis;
+
+    @Value("${booking.hold.wheel-size:1024}")
+    private int wheelSize;
+
+    private final Map<String, ActiveHold> holds = new ConcurrentHashMap<>();
+    // Per-room lists are replaced, never mutated, so availability checks read them without locking
+    private final Map<Integer, List<ActiveHold>> holdsByRoom = new ConcurrentHashMap<>();
+    private HashedTimingWheel<String> wheel;
+
+    @PostConstruct
+    public void start() {
+        wheel = new HashedTimingWheel<>("room-hold-expiry", tickMillis, wheelSize, this::expire);
+        wheel.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        wheel.stop();
+    }
+
+    // Callers check bookings under the room's reservation lock first; this only guards against other holds
+    public RoomHold place(RoomHold hold, long ttlSeconds) {
+        long ttl = ttlSeconds > 0 ? Math.min(ttlSeconds, maxTtlSeconds) : defaultTtlSeconds;
+        hold.setId(UUID.randomUUID().toString());
+        hold.setExpiresAt(new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl)));
+        ActiveHold active = new ActiveHold(hold);
+
+        holdsByRoom.compute(hold.getRoomId(), (roomId, current) -> {
+            long now = System.currentTimeMillis();
+            List<ActiveHold> next = new ArrayList<>();
+            if (current != null) {
+                for (ActiveHold existing : current) {
+                    if (!existing.isLive(now)) {
+                        continue;
+                    }
+                    if (existing.overlaps(active.fromDay, active.toDay)) {
+                        throw new BookingConflictException("Room " + roomId + " is held for the selected dates");
+                    }
+                    next.add(existing);
+                }
+            }
+            next.add(active);
+            return Collections.unmodifiableList(next);
+        });
+        holds.put(hold.getId(), active);
+        active.timeout = wheel.schedule(hold.getId(), ttl, TimeUnit.SECONDS);
+        logger.debug("Room {} held as {} until {}", hold.getRoomId(), hold.getId(), hold.getExpiresAt());
+        return hold;
+    }
+
+    public RoomHold getHold(String holdId) {
+        ActiveHold active = holdId != null ? holds.get(holdId) : null;
+        return active != null && active.isLive(System.currentTimeMillis()) ? active.hold : null;
+    }
+
+    // Whether another live hold covers any night of the range; exceptHoldId lets a holder book its own hold
+    public boolean isHeld(int roomId, Date checkIn, Date checkOut, String exceptHoldId) {
+        List<ActiveHold> current = holdsByRoom.get(roomId);
+        if (current == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long fromDay = epochDay(checkIn);
+        long toDay = epochDay(checkOut);
+        for (ActiveHold active : current) {
+            if (active.isLive(now) && active.overlaps(fromDay, toDay) && !active.hold.getId().equals(exceptHoldId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean release(String holdId) {
+        ActiveHold active = holdId != null ? holds.remove(holdId) : null;
+        if (active == null) {
+            return false;
+        }
+        if (active.timeout != null) {
+            active.timeout.cancel();
+        }
+        removeFromRoom(active);
+        return true;
+    }
+
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    private void expire(String holdId) {
+        ActiveHold active = holds.remove(holdId);
+        if (active != null) {
+            removeFromRoom(active);
+            logger.debug("Hold {} on room {} expired", holdId, active.hold.getRoomId());
+        }
+    }
+
+    private void removeFromRoom(ActiveHold active) {
+        holdsByRoom.computeIfPresent(active.hold.getRoomId(), (roomId, current) -> {
+            List<ActiveHold> next = new ArrayList<>(current);
+            next.remove(active);
+            return next.isEmpty() ? null : Collections.unmodifiableList(next);
+        });
+    }
+
+    private static long epochDay(Date date) {
+        return RoomAvailabilityIndex.toLocalDate(date).toEpochDay();
+    }
+
+    private static class ActiveHold {
+        private final RoomHold hold;
+        private final long fromDay;
+        private final long toDay;
+        private final long expiresAtMillis;
+        private volatile HashedTimingWheel.Timeout<String> timeout;
+
+        ActiveHold(RoomHold hold) {
+            this.hold = hold;
+            this.fromDay = epochDay(hold.getCheckInDate());
+            this.toDay = epochDay(hold.getCheckOutDate());
+            this.expiresAtMillis = hold.getExpiresAt().getTime();
+        }
+
+        // The wheel may fire up to one tick late, so expiry is also checked against the clock
+        boolean isLive(long now) {
+            return now < expiresAtMillis;
+        }
+
+        boolean overlaps(long from, long to) {
+            return fromDay < to && toDay > from;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.hotelbooking.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.hotelbooking.event.DomainEventBus;
+import com.example.hotelbooking.event.RoomChanged;
+import com.example.hotelbooking.model.BookingStatus;
+import com.example.hotelbooking.util.NightBitSet;
+
+// Booked-room counts per (hotel, room type, night), derived from the availability index
+@Component
+public class RoomInventoryCounters implements RoomAvailabilityIndex.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomInventoryCounters.class);
+
+    private static final String BOOKABLE_ROOM = "is_active = true AND is_available = true";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DomainEventBus eventBus;
+
+    // Guarded by this
+    private final Map<Integer, RoomSlot> slots = new HashMap<>();
+    private final Map<Integer, Map<String, TypeCounter>> hotels = new HashMap<>();
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void register() {
+        availabilityIndex.addListener(this);
+        eventBus.subscribe(RoomChanged.class, event -> refreshRoom(event.getRoomId()));
+    }
+
+    @Override
+    public synchronized void roomsRebuilt(Map<Integer, NightBitSet> rooms) {
+        slots.clear();
+        hotels.clear();
+        jdbcTemplate.query("SELECT id, hotel_id, room_type FROM rooms WHERE " + BOOKABLE_ROOM, rs -> {
+            slots.put(rs.getInt("id"), new RoomSlot(rs.getInt("hotel_id"), rs.getString("room_type")));
+        });
+        for (Map.Entry<Integer, RoomSlot> entry : slots.entrySet()) {
+            counter(entry.getValue()).addRoom(availabilityIndex.getNights(entry.getKey()));
+        }
+        ready = true;
+        logger.info("Room inventory counters built for {} rooms in {} hotels", slots.size(), hotels.size());
+    }
+
+    @Override
+    public synchronized void roomChanged(int roomId, NightBitSet before, NightBitSet after) {
+        if (!ready) {
+            return;
+        }
+        RoomSlot slot = slots.get(roomId);
+        if (slot != null) {
+            counter(slot).applyDelta(before, after);
+        }
+    }
+
+    // Runs on RoomChanged after a room is added, edited, deactivated or taken out of service
+    public void refreshRoom(int roomId) {
+        if (!ready) {
+            return;
+        }
+        List<RoomSlot> current = jdbcTemplate.query(
+                "SELECT hotel_id, room_type FROM rooms WHERE id = ? AND " + BOOKABLE_ROOM,
+                (rs, rowNum) -> new RoomSlot(rs.getInt("hotel_id"), rs.getString("room_type")), roomId);
+        synchronized (this) {
+            RoomSlot updated = current.isEmpty() ? null : current.get(0);
+            RoomSlot previous = updated == null ? slots.remove(roomId) : slots.put(roomId, updated);
+            NightBitSet nights = availabilityIndex.getNights(roomId);
+            if (previous != null) {
+                counter(previous).removeRoom(nights);
+            }
+            if (updated != null) {
+                counter(updated).addRoom(nights);
+            }
+        }
+    }
+
+    // Free rooms per room type for each night in [from, from + days)
+    public Map<String, int[]> getFreeRooms(int hotelId, LocalDate from, int days) {
+        if (!RoomAvailabilityIndex.isWithinRange(from, from.plusDays(days))) {
+            throw new IllegalArgumentException("Inventory range " + from + " + " + days + " days is out of bounds");
+        }
+        if (!ready) {
+            return getFreeRoomsFromDatabase(hotelId, from, days);
+        }
+        int start = RoomAvailabilityIndex.nightOf(from);
+        Map<String, int[]> grid = new TreeMap<>();
+        synchronized (this) {
+            for (Map.Entry<String, TypeCounter> entry : hotels.getOrDefault(hotelId, Map.of()).entrySet()) {
+                grid.put(entry.getKey(), entry.getValue().free(start, days));
+            }
+        }
+        return grid;
+    }
+
+    // Same grid in two queries, used until the index has been built or when it is disabled
+    private Map<String, int[]> getFreeRoomsFromDatabase(int hotelId, LocalDate from, int days) {
+        Map<String, int[]> grid = new TreeMap<>();
+        jdbcTemplate.query("SELECT room_type, COUNT(*) AS total FROM rooms WHERE hotel_id = ? AND " + BOOKABLE_ROOM + " GROUP BY room_type", rs -> {
+            int[] free = new int[days];
+            Arrays.fill(free, rs.getInt("total"));
+            grid.put(rs.getString("room_type"), free);
+        }, hotelId);
+
+        // A room counts once per night, as in the index, even if legacy rows overlap on it
+        LocalDate to = from.plusDays(days);
+        Map<Integer, NightBitSet> bookedNights = new HashMap<>();
+        String sql = "SELECT b.room_id, r.room_type, b.check_in_date, b.check_out_date FROM bookings b JOIN rooms r ON r.id = b.room_id " +
+                    "WHERE r.hotel_id = ? AND r.is_active = true AND r.is_available = true " +
+                    "AND b.status IN " + BookingStatus.BLOCKING_SQL + " AND b.check_in_date < ? AND b.check_out_date > ?";
+        jdbcTemplate.query(sql, rs -> {
+            int[] free = grid.get(rs.getString("room_type"));
+            if (free == null) {
+                return;
+            }
+            NightBitSet nights = bookedNights.computeIfAbsent(rs.getInt("room_id"), k -> new NightBitSet());
+            LocalDate checkIn = rs.getDate("check_in_date").toLocalDate();
+            LocalDate checkOut = rs.getDate("check_out_date").toLocalDate();
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(from, checkIn));
+            int last = (int) Math.min(days, ChronoUnit.DAYS.between(from, checkOut));
+            for (int i = first; i < last; i++) {
+                if (!nights.get(i)) {
+                    nights.set(i, i + 1);
+                    free[i]--;
+                }
+            }
+        }, hotelId, Date.valueOf(to), Date.valueOf(from));
+        return grid;
+    }
+
+    private TypeCounter counter(RoomSlot slot) {
+        return hotels.computeIfAbsent(slot.hotelId, k -> new HashMap<>())
+                .computeIfAbsent(slot.roomType, k -> new TypeCounter());
+    }
+
+    private static class RoomSlot {
+        private final int hotelId;
+        private final String roomType;
+
+        RoomSlot(int hotelId, String roomType) {
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+        }
+    }
+
+    private static class TypeCounter {
+        private int rooms;
+        private int[] booked = new int[0];
+
+        void addRoom(NightBitSet nights) {
+            rooms++;
+            add(nights.toLongArray(), 1);
+        }
+
+        void removeRoom(NightBitSet nights) {
+            rooms--;
+            add(nights.toLongArray(), -1);
+        }
+
+        // Only nights whose bit flipped are touched
+        void applyDelta(NightBitSet before, NightBitSet after) {
+            long[] b = before.toLongArray();
+            long[] a = after.toLongArray();
+            int length = Math.max(b.length, a.length);
+            long[] removed = new long[length];
+            long[] added = new long[length];
+            for (int i = 0; i < length; i++) {
+                long bw = i < b.length ? b[i] : 0L;
+                long aw = i < a.length ? a[i] : 0L;
+                removed[i] = bw & ~aw;
+                added[i] = aw & ~bw;
+            }
+            add(removed, -1);
+            add(added, 1);
+        }
+
+        private void add(long[] words, int delta) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    int night = (i << 6) + Long.numberOfTrailingZeros(word);
+                    if (night >= booked.length) {
+                        booked = Arrays.copyOf(booked, Math.max(night + 1, booked.length * 2));
+                    }
+                    booked[night] += delta;
+                    word &= word - 1;
+                }
+            }
+        }
+
+        int[] free(int start, int days) {
+            int[] free = new int[days];
+            for (int i = 0; i < days; i++) {
+                int night = start + i;
+                free[i] = rooms - (night < booked.length ? booked[night] : 0);
+            }
+            return free;
+        }
+    }
+}
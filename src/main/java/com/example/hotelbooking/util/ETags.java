@@ -0,0 +1,26 @@
+package com.example.hotelbooking.util;
+
+// If-None-Match handling for handlers that can tell their ETag before doing any work
+public final class ETags {
+
+    private ETags() {}
+
+    // True when the header lists the ETag or is "*"; weak validators compare equal to strong ones for GET
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = strip(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || strip(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String strip(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.hotelbooking.util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Single-threaded timer wheel: scheduling and cancelling are O(1) and each tick only walks one bucket,
+// so the cost of a tick does not grow with the number of pending timeouts
+public class HashedTimingWheel<T> {
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final long tickNanos;
+    private final ArrayDeque<Timeout<T>>[] buckets;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running;
+    private long startNanos;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMillis, int minimumBuckets, Consumer<T> onExpire) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, minimumBuckets - 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+    }
+
+    public synchronized void start() {
+        if (!running) {
+            startNanos = System.nanoTime();
+            running = true;
+            worker.start();
+        }
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    // The returned handle can be cancelled from any thread
+    public Timeout<T> schedule(T item, long delay, TimeUnit unit) {
+        Timeout<T> timeout = new Timeout<>(item, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleep = deadline - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            transferPending();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    // Only the worker thread touches the buckets, so new timeouts are handed over through a queue
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos - 1);
+            timeout.rounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout<T>> bucket) {
+        for (int remaining = bucket.size(); remaining > 0; remaining--) {
+            Timeout<T> timeout = bucket.poll();
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.rounds > 0) {
+                // Due on a later revolution
+                timeout.rounds--;
+                bucket.add(timeout);
+            } else {
+                try {
+                    onExpire.accept(timeout.item);
+                } catch (RuntimeException e) {
+                    // One failing callback must not stop the wheel
+                    logger.error("Timeout callback failed for {}", timeout.item, e);
+                }
+            }
+        }
+    }
+
+    public static class Timeout<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private volatile boolean cancelled;
+        private long rounds;
+
+        Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        // Cancelled timeouts are dropped lazily when their bucket comes round
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hotelbooking.util;
+
+import java.util.Arrays;
+
+// One bit per night, packed into 64-bit words. Ranges are half-open [from, to).
+public class NightBitSet {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] words;
+
+    public NightBitSet() {
+        this.words = EMPTY;
+    }
+
+    private NightBitSet(long[] words) {
+        this.words = words;
+    }
+
+    public void set(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        ensureCapacity(to);
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        for (int i = first; i <= last; i++) {
+            words[i] |= mask(i, from, to);
+        }
+    }
+
+    public void clear(int from, int to) {
+        if (from >= to || words.length == 0) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = Math.min((to - 1) >>> 6, words.length - 1);
+        for (int i = first; i <= last; i++) {
+            words[i] &= ~mask(i, from, to);
+        }
+    }
+
+    public boolean get(int night) {
+        int i = night >>> 6;
+        return i < words.length && (words[i] & (1L << night)) != 0;
+    }
+
+    // True when any night in [from, to) is set
+    public boolean intersects(int from, int to) {
+        if (from >= to || words.length == 0) {
+            return false;
+        }
+        int first = from >>> 6;
+        int last = Math.min((to - 1) >>> 6, words.length - 1);
+        for (int i = first; i <= last; i++) {
+            if ((words[i] & mask(i, from, to)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public NightBitSet copy() {
+        return new NightBitSet(words.clone());
+    }
+
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    // Nights [from, to) packed eight per byte, least significant bit first
+    public byte[] toByteArray(int from, int to) {
+        byte[] bytes = new byte[(Math.max(0, to - from) + 7) >>> 3];
+        for (int night = from; night < to; night++) {
+            if (get(night)) {
+                int offset = night - from;
+                bytes[offset >>> 3] |= 1 << (offset & 7);
+            }
+        }
+        return bytes;
+    }
+
+    private void ensureCapacity(int nights) {
+        int required = (nights + 63) >>> 6;
+        if (required > words.length) {
+            words = Arrays.copyOf(words, Math.max(required, words.length * 2));
+        }
+    }
+
+    // Bits of word i that fall inside [from, to)
+    private static long mask(int wordIndex, int from, int to) {
+        int wordStart = wordIndex << 6;
+        long mask = -1L;
+        if (from > wordStart) {
+            mask &= -1L << (from - wordStart);
+        }
+        if (to < wordStart + 64) {
+            mask &= -1L >>> (wordStart + 64 - to);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.hotelbooking.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fixed pool of locks shared by key hash, so unrelated keys rarely contend
+public class StripedLock {
+    private final Lock[] stripes;
+    private final int mask;
+
+    public StripedLock(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public Lock forKey(int key) {
+        return stripes[indexFor(key)];
+    }
+
+    public int indexFor(int key) {
+        // Spread sequential ids across stripes
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public Lock stripe(int index) {
+        return stripes[index];
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
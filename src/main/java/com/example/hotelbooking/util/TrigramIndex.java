@@ -0,0 +1,279 @@
+package com.example.hotelbooking.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Inverted index from character trigrams to the sorted ids of the documents containing them.
+// Posting arrays are replaced, never mutated, so searches read without locking; writers must be
+// serialised by the caller.
+public class TrigramIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private volatile Map<String, int[]> postings = new ConcurrentHashMap<>();
+    private volatile Map<Integer, String> texts = new ConcurrentHashMap<>();
+
+    // Replaces the whole index; postings are appended in id order, so no array is copied per document
+    public void rebuild(Map<Integer, String> documents) {
+        Integer[] ids = documents.keySet().toArray(new Integer[0]);
+        Arrays.sort(ids);
+        Map<String, IntList> building = new HashMap<>();
+        Map<Integer, String> builtTexts = new ConcurrentHashMap<>();
+        for (Integer id : ids) {
+            String text = normalize(documents.get(id));
+            builtTexts.put(id, text);
+            for (String gram : trigrams(text)) {
+                building.computeIfAbsent(gram, k -> new IntList()).add(id);
+            }
+        }
+        Map<String, int[]> built = new ConcurrentHashMap<>();
+        building.forEach((gram, list) -> built.put(gram, list.toArray()));
+        postings = built;
+        texts = builtTexts;
+    }
+
+    public void put(int id, String document) {
+        String text = normalize(document);
+        String old = texts.put(id, text);
+        Set<String> grams = trigrams(text);
+        if (old != null) {
+            for (String gram : trigrams(old)) {
+                if (!grams.contains(gram)) {
+                    removePosting(gram, id);
+                }
+            }
+        }
+        for (String gram : grams) {
+            addPosting(gram, id);
+        }
+    }
+
+    public void remove(int id) {
+        String old = texts.remove(id);
+        if (old != null) {
+            for (String gram : trigrams(old)) {
+                removePosting(gram, id);
+            }
+        }
+    }
+
+    public int size() {
+        return texts.size();
+    }
+
+    // Ids of documents containing every word of the query, in id order. When nothing matches exactly,
+    // documents sharing most of the query's trigrams are returned instead, best first, which absorbs a typo.
+    // Returns null when the query has no word to search for.
+    public int[] search(String query) {
+        String[] words = normalize(query).trim().split(" ");
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            // Words under three letters only match at the start of a word
+            grams.addAll(trigrams(word.length() < 3 ? " " + word : word));
+        }
+        if (grams.isEmpty()) {
+            return null;
+        }
+
+        int[] exact = matchAll(grams, words);
+        if (exact.length > 0 || grams.size() < 3) {
+            return exact;
+        }
+        return matchMost(grams);
+    }
+
+    private int[] matchAll(Set<String> grams, String[] words) {
+        Map<String, int[]> current = postings;
+        List<int[]> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            int[] list = current.get(gram);
+            if (list == null) {
+                return EMPTY;
+            }
+            lists.add(list);
+        }
+        // Shortest first keeps every intermediate result as small as possible
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+
+        // Sharing all trigrams does not guarantee containing the words, so check the text
+        Map<Integer, String> currentTexts = texts;
+        int[] verified = new int[result.length];
+        int n = 0;
+        for (int id : result) {
+            String text = currentTexts.get(id);
+            if (text != null && containsAll(text, words)) {
+                verified[n++] = id;
+            }
+        }
+        return n == verified.length ? verified : Arrays.copyOf(verified, n);
+    }
+
+    private int[] matchMost(Set<String> grams) {
+        Map<String, int[]> current = postings;
+        Map<Integer, int[]> counts = new HashMap<>();
+        for (String gram : grams) {
+            int[] list = current.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int id : list) {
+                counts.computeIfAbsent(id, k -> new int[1])[0]++;
+            }
+        }
+        // One substituted letter breaks up to three trigrams; never accept less than half of them
+        int total = grams.size();
+        int threshold = Math.max(total - 3, (total + 1) / 2);
+        List<int[]> hits = new ArrayList<>();
+        counts.forEach((id, count) -> {
+            if (count[0] >= threshold) {
+                hits.add(new int[] {id, count[0]});
+            }
+        });
+        hits.sort((a, b) -> a[1] != b[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+        int[] ids = new int[hits.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = hits.get(i)[0];
+        }
+        return ids;
+    }
+
+    // Walks the shorter array and gallops through the longer one, so cost follows the shorter list
+    static int[] intersect(int[] a, int[] b) {
+        if (a.length > b.length) {
+            int[] swap = a;
+            a = b;
+            b = swap;
+        }
+        int[] out = new int[a.length];
+        int n = 0;
+        int from = 0;
+        for (int value : a) {
+            from = gallop(b, from, value);
+            if (from == b.length) {
+                break;
+            }
+            if (b[from] == value) {
+                out[n++] = value;
+                from++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // First index at or after from whose value is >= key, or b.length
+    static int gallop(int[] b, int from, int key) {
+        if (from >= b.length || b[from] >= key) {
+            return from;
+        }
+        int last = from; // Always below key
+        int step = 1;
+        while (from + step < b.length && b[from + step] < key) {
+            last = from + step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(b, last + 1, Math.min(from + step, b.length), key);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private void addPosting(String gram, int id) {
+        postings.compute(gram, (k, list) -> {
+            if (list == null) {
+                return new int[] {id};
+            }
+            int at = Arrays.binarySearch(list, id);
+            if (at >= 0) {
+                return list;
+            }
+            at = -at - 1;
+            int[] next = new int[list.length + 1];
+            System.arraycopy(list, 0, next, 0, at);
+            next[at] = id;
+            System.arraycopy(list, at, next, at + 1, list.length - at);
+            return next;
+        });
+    }
+
+    private void removePosting(String gram, int id) {
+        postings.computeIfPresent(gram, (k, list) -> {
+            int at = Arrays.binarySearch(list, id);
+            if (at < 0) {
+                return list;
+            }
+            if (list.length == 1) {
+                return null;
+            }
+            int[] next = new int[list.length - 1];
+            System.arraycopy(list, 0, next, 0, at);
+            System.arraycopy(list, at + 1, next, at, list.length - at - 1);
+            return next;
+        });
+    }
+
+    private static boolean containsAll(String text, String[] words) {
+        for (String word : words) {
+            if (!word.isEmpty() && !text.contains(word.length() < 3 ? " " + word : word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Lower case, letters and digits only, single spaces, padded so words have start and end trigrams
+    static String normalize(String text) {
+        if (text == null) {
+            return " ";
+        }
+        StringBuilder out = new StringBuilder(text.length() + 2).append(' ');
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+            } else if (out.charAt(out.length() - 1) != ' ') {
+                out.append(' ');
+            }
+        }
+        if (out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+        return out.toString();
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.hotelbooking.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Immutable snapshots per key, each tagged with the key's version when its load started. Writers only
+// bump the version; the next reader reloads. While a key is being reloaded other readers get the previous
+// snapshot instead of waiting, and concurrent misses for one key share a single load.
+public class VersionedSnapshotCache<K, V> {
+
+    // Only keys that were written have a version, and dropping one could make a stale snapshot current
+    // again, so versions are kept; snapshots are bounded, since any key a reader asks for gets one
+    private final Map<K, Long> versions = new ConcurrentHashMap<>();
+    private final Map<K, Snapshot<V>> snapshots;
+    private final Map<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    public VersionedSnapshotCache(long maxSnapshots) {
+        this.snapshots = Caffeine.newBuilder().maximumSize(maxSnapshots).<K, Snapshot<V>>build().asMap();
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Snapshot<V> snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.version == getVersion(key)) {
+            return snapshot.value;
+        }
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = loads.putIfAbsent(key, load);
+        if (running != null) {
+            return snapshot != null ? snapshot.value : join(running);
+        }
+        try {
+            // Read before loading: a bump that lands during the load leaves the result already stale
+            long version = getVersion(key);
+            V value = loader.apply(key);
+            snapshots.merge(key, new Snapshot<>(version, value),
+                    (current, loaded) -> loaded.version >= current.version ? loaded : current);
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    // Call after the write is visible to readers, so no load can start at the new version and miss it
+    public void bump(K key) {
+        versions.merge(key, 1L, Long::sum);
+    }
+
+    public long getVersion(K key) {
+        return versions.getOrDefault(key, 0L);
+    }
+
+    private static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            // Waiters see the loader's own exception
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Snapshot<V> {
+        private final long version;
+        private final V value;
+
+        Snapshot(long version, V value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -76,11 +76,29 @@ CREATE TABLE IF NOT EXISTS bookings (
     special_requests VARCHAR(1000),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
     FOREIGN KEY (hotel_id) REFERENCES hotels(id) ON DELETE CASCADE,
     FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE SET NULL
 );
 
+-- Covering index for the room availability anti-join
+CREATE INDEX IF NOT EXISTS idx_booking_room_status_dates ON bookings(room_id, status, check_in_date, check_out_date);
+
+-- Keyset pagination over bookings, newest first
+CREATE INDEX IF NOT EXISTS idx_booking_created ON bookings(created_at, id);
+
+-- Cache invalidations for other application nodes, appended in the same transaction as each change
+CREATE TABLE IF NOT EXISTS invalidation_log (
+    seq BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(32) NOT NULL,
+    entity_id INT NOT NULL,
+    node_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_invalidation_created ON invalidation_log(created_at);
+
 -- Insert sample users
 INSERT INTO users (username, email, password, role, first_name, last_name, phone) VALUES
 ('admin', 'admin@hotel.com', 'password', 'ADMIN', 'Admin', 'User', '+1-555-0001'),
@@ -0,0 +1,134 @@
+package com.example.hotelbooking.controller;
+
+import com.example.hotelbooking.dao.BookingDAO;
+import com.example.hotelbooking.model.Booking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// MockMvc makes this a context of its own, so it gets its own database rather than seeding testdb twice
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+class BookingVersionConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingDAO bookingDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        String roomNumber = "VER-" + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO rooms(hotel_id, room_number, room_type, capacity, price_per_night) VALUES (1, ?, 'SINGLE', 1, 100.00)", roomNumber);
+        int roomId = jdbcTemplate.queryForObject("SELECT id FROM rooms WHERE room_number = ?", Integer.class, roomNumber);
+
+        booking = new Booking();
+        booking.setCustomerId(1);
+        booking.setHotelId(1);
+        booking.setRoomId(roomId);
+        booking.setCheckInDate(java.sql.Date.valueOf("2032-03-01"));
+        booking.setCheckOutDate(java.sql.Date.valueOf("2032-03-03"));
+        booking.setTotalAmount(200.0);
+        booking.setStatus("CONFIRMED");
+        bookingDAO.reserveBooking(booking);
+    }
+
+    @Test
+    @WithMockUser
+    void testStaleVersionIsRejectedWithConflict() throws Exception {
+        // Another user saves first and moves the row to version 1
+        Booking other = bookingDAO.getBookingById(booking.getId());
+        other.setSpecialRequests("Quiet room");
+        bookingDAO.updateBooking(other);
+
+        mockMvc.perform(put("/api/bookings/" + booking.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(0, "Late arrival"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Booking was modified by another user"));
+
+        assertSpecialRequests("Quiet room");
+    }
+
+    @Test
+    @WithMockUser
+    void testCurrentVersionIsAccepted() throws Exception {
+        mockMvc.perform(put("/api/bookings/" + booking.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(0, "Late arrival"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booking.version").value(1));
+
+        assertSpecialRequests("Late arrival");
+    }
+
+    @Test
+    @WithMockUser
+    void testUpdateWithoutVersionSurvivesAWriteThisNodeDidNotSee() throws Exception {
+        // As if another node had written the row: the state this node remembers is now stale
+        jdbcTemplate.update("UPDATE bookings SET special_requests = 'Elsewhere', version = version + 1 WHERE id = ?", booking.getId());
+
+        Map<String, Object> body = request(0, "Late arrival");
+        body.remove("version");
+        mockMvc.perform(put("/api/bookings/" + booking.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booking.version").value(2));
+
+        assertSpecialRequests("Late arrival");
+    }
+
+    @Test
+    @WithMockUser
+    void testDeletingAMissingBookingIsNotFound() throws Exception {
+        mockMvc.perform(delete("/api/bookings/" + booking.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/bookings/" + booking.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private Map<String, Object> request(int version, String specialRequests) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("customerId", booking.getCustomerId());
+        body.put("hotelId", booking.getHotelId());
+        body.put("roomId", booking.getRoomId());
+        body.put("checkInDate", "2032-03-01");
+        body.put("checkOutDate", "2032-03-03");
+        body.put("totalAmount", booking.getTotalAmount());
+        body.put("status", booking.getStatus());
+        body.put("specialRequests", specialRequests);
+        body.put("version", version);
+        return body;
+    }
+
+    private void assertSpecialRequests(String expected) {
+        assertEquals(expected, bookingDAO.getBookingById(booking.getId()).getSpecialRequests());
+    }
+}
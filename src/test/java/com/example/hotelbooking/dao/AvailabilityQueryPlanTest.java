@@ -0,0 +1,125 @@
+package com.example.hotelbooking.dao;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares the legacy NOT IN availability query with the NOT EXISTS rewrite over 1M bookings.
+// Run with: mvn test -Dtest=AvailabilityQueryPlanTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AvailabilityQueryPlanTest {
+
+    private static final String LEGACY_SQL = "SELECT r.* FROM rooms r WHERE r.hotel_id = ? AND r.is_available = true AND r.is_active = true " +
+            "AND r.id NOT IN (SELECT b.room_id FROM bookings b WHERE b.room_id IS NOT NULL " +
+            "AND b.status IN ('CONFIRMED', 'CHECKED_IN') " +
+            "AND ((b.check_in_date <= ? AND b.check_out_date > ?) " +
+            "OR (b.check_in_date < ? AND b.check_out_date >= ?)))";
+
+    private static final int HOTELS = 100;
+    private static final int ROOMS = 2_000;
+    private static final int BOOKINGS = 1_000_000;
+    private static final int ITERATIONS = 200;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void seed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:availability_plan;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE rooms (id INT AUTO_INCREMENT PRIMARY KEY, hotel_id INT NOT NULL, room_number VARCHAR(20), " +
+                "is_available BOOLEAN DEFAULT TRUE, is_active BOOLEAN DEFAULT TRUE)");
+        jdbcTemplate.execute("CREATE TABLE bookings (id INT AUTO_INCREMENT PRIMARY KEY, room_id INT, status VARCHAR(20), " +
+                "check_in_date DATE NOT NULL, check_out_date DATE NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_room_hotel ON rooms(hotel_id)");
+        jdbcTemplate.execute("CREATE INDEX idx_booking_dates ON bookings(check_in_date, check_out_date)");
+        jdbcTemplate.execute("CREATE INDEX idx_booking_room_status_dates ON bookings(room_id, status, check_in_date, check_out_date)");
+
+        jdbcTemplate.update("INSERT INTO rooms(hotel_id, room_number) SELECT MOD(X, " + HOTELS + ") + 1, CAST(X AS VARCHAR) " +
+                "FROM SYSTEM_RANGE(1, " + ROOMS + ")");
+        jdbcTemplate.update("INSERT INTO bookings(room_id, status, check_in_date, check_out_date) " +
+                "SELECT MOD(X, " + ROOMS + ") + 1, " +
+                "CASE MOD(X, 5) WHEN 0 THEN 'CANCELLED' WHEN 1 THEN 'PENDING' WHEN 2 THEN 'CHECKED_IN' ELSE 'CONFIRMED' END, " +
+                "DATEADD('DAY', MOD(X * 7, 3650), DATE '2020-01-01'), " +
+                "DATEADD('DAY', MOD(X * 7, 3650) + 1 + MOD(X, 5), DATE '2020-01-01') " +
+                "FROM SYSTEM_RANGE(1, " + BOOKINGS + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void rewriteUsesCoveringIndexAndIsFaster() {
+        Date checkIn = Date.valueOf(LocalDate.of(2024, 6, 1));
+        Date checkOut = Date.valueOf(LocalDate.of(2024, 6, 4));
+
+        String legacyPlan = explain(LEGACY_SQL, 1, checkIn, checkIn, checkOut, checkOut);
+        String rewritePlan = explain(RoomDAO.AVAILABLE_ROOMS_SQL, 1, checkOut, checkIn);
+        System.out.println("Legacy plan:\n" + legacyPlan);
+        System.out.println("Rewrite plan:\n" + rewritePlan);
+
+        long legacyNanos = time(LEGACY_SQL, true);
+        long rewriteNanos = time(RoomDAO.AVAILABLE_ROOMS_SQL, false);
+        System.out.printf("Legacy  NOT IN:     %8.3f ms/query%n", legacyNanos / 1e6 / ITERATIONS);
+        System.out.printf("Rewrite NOT EXISTS: %8.3f ms/query%n", rewriteNanos / 1e6 / ITERATIONS);
+
+        assertTrue(rewritePlan.toUpperCase().contains("IDX_BOOKING_ROOM_STATUS_DATES"));
+        assertTrue(rewriteNanos < legacyNanos);
+    }
+
+    @Test
+    void rewriteFindsBookingsContainedInTheRequestedRange() {
+        // The legacy predicate misses a stay that starts and ends inside the requested range
+        jdbcTemplate.update("INSERT INTO rooms(id, hotel_id, room_number) VALUES (999999, 999, 'X')");
+        jdbcTemplate.update("INSERT INTO bookings(room_id, status, check_in_date, check_out_date) VALUES (999999, 'CONFIRMED', ?, ?)",
+                Date.valueOf(LocalDate.of(2031, 1, 3)), Date.valueOf(LocalDate.of(2031, 1, 5)));
+        Date checkIn = Date.valueOf(LocalDate.of(2031, 1, 1));
+        Date checkOut = Date.valueOf(LocalDate.of(2031, 1, 10));
+
+        List<Integer> legacy = jdbcTemplate.query(LEGACY_SQL, (rs, rowNum) -> rs.getInt("id"), 999, checkIn, checkIn, checkOut, checkOut);
+        List<Integer> rewrite = jdbcTemplate.query(RoomDAO.AVAILABLE_ROOMS_SQL, (rs, rowNum) -> rs.getInt("id"), 999, checkOut, checkIn);
+
+        assertEquals(List.of(999999), legacy);
+        assertTrue(rewrite.isEmpty());
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.query("EXPLAIN " + sql, (rs, rowNum) -> rs.getString(1), args));
+    }
+
+    private long time(String sql, boolean legacy) {
+        Random random = new Random(42);
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            run(sql, legacy, random);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(sql, legacy, random);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void run(String sql, boolean legacy, Random random) {
+        int hotelId = random.nextInt(HOTELS) + 1;
+        LocalDate start = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(3650));
+        Date checkIn = Date.valueOf(start);
+        Date checkOut = Date.valueOf(start.plusDays(3));
+        if (legacy) {
+            jdbcTemplate.queryForList(sql, hotelId, checkIn, checkIn, checkOut, checkOut);
+        } else {
+            jdbcTemplate.queryForList(sql, hotelId, checkOut, checkIn);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hotelbooking.dao;
+
+import com.example.hotelbooking.model.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Throughput of BookingDAO.reserveBooking with 1..64 concurrent bookers.
+// Run with: mvn test -Dtest=BookingContentionBenchmark -Dbenchmark=true
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingContentionBenchmark {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int BOOKINGS_PER_THREAD = 200;
+    private static final LocalDate BASE_DATE = LocalDate.of(2030, 1, 1);
+
+    @Autowired
+    private BookingDAO bookingDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int hotRoomId;
+    private final List<Integer> coldRoomIds = new ArrayList<>();
+    private final AtomicInteger nightCounter = new AtomicInteger();
+    private static final AtomicInteger roomCounter = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        hotRoomId = createRoom();
+        coldRoomIds.clear();
+        for (int i = 0; i < THREAD_COUNTS[THREAD_COUNTS.length - 1]; i++) {
+            coldRoomIds.add(createRoom());
+        }
+    }
+
+    @Test
+    void benchmarkHotAndColdRooms() throws Exception {
+        System.out.printf("%-8s %14s %14s%n", "threads", "hot ops/s", "cold ops/s");
+        for (int threads : THREAD_COUNTS) {
+            double hot = run(threads, true);
+            double cold = run(threads, false);
+            System.out.printf("%-8d %14.0f %14.0f%n", threads, hot, cold);
+        }
+    }
+
+    private double run(int threads, boolean hot) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int roomId = hot ? hotRoomId : coldRoomIds.get(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    // Every booking takes a fresh night, so all of them succeed and only locking is measured
+                    bookingDAO.reserveBooking(newBooking(roomId, nightCounter.getAndIncrement()));
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return threads * BOOKINGS_PER_THREAD / (elapsed / 1_000_000_000.0);
+    }
+
+    private Booking newBooking(int roomId, int night) {
+        Booking booking = new Booking();
+        booking.setCustomerId(1);
+        booking.setHotelId(1);
+        booking.setRoomId(roomId);
+        booking.setCheckInDate(java.sql.Date.valueOf(BASE_DATE.plusDays(night)));
+        booking.setCheckOutDate(java.sql.Date.valueOf(BASE_DATE.plusDays(night + 1)));
+        booking.setTotalAmount(100.0);
+        booking.setStatus("CONFIRMED");
+        return booking;
+    }
+
+    private int createRoom() {
+        String roomNumber = "BENCH-" + roomCounter.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO rooms(hotel_id, room_number, room_type, capacity, price_per_night) VALUES (1, ?, 'SINGLE', 1, 100.00)", roomNumber);
+        return jdbcTemplate.queryForObject("SELECT id FROM rooms WHERE room_number = ?", Integer.class, roomNumber);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.hotelbooking.dao;
+
+import com.example.hotelbooking.exception.BookingConflictException;
+import com.example.hotelbooking.exception.InvalidBookingException;
+import com.example.hotelbooking.model.Booking;
+import com.example.hotelbooking.model.RoomHold;
+import com.example.hotelbooking.service.RoomHoldManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingDAOConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final LocalDate BASE_DATE = LocalDate.of(2031, 1, 1);
+    private static final AtomicInteger roomCounter = new AtomicInteger();
+
+    @Autowired
+    private BookingDAO bookingDAO;
+
+    @Autowired
+    private RoomDAO roomDAO;
+
+    @Autowired
+    private RoomHoldManager holdManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int roomId;
+
+    @BeforeEach
+    void setUp() {
+        roomId = createRoom();
+    }
+
+    @Test
+    void testConcurrentBookersNeverDoubleBookARoom() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(() -> {
+            try {
+                bookingDAO.reserveBooking(newBooking(roomId, 0));
+                accepted.incrementAndGet();
+            } catch (BookingConflictException expected) {
+                // Lost the race for the same night
+            }
+        });
+
+        assertEquals(1, accepted.get());
+        assertEquals(1, countBookings(roomId, 0));
+    }
+
+    @Test
+    void testConcurrentUpdatesNeverMoveTwoBookingsOntoOneNight() throws Exception {
+        // Every thread owns a booking on its own night and tries to move it onto night 0 of the same room
+        List<Booking> bookings = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Booking booking = newBooking(roomId, t + 1);
+            bookingDAO.reserveBooking(booking);
+            bookings.add(booking);
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(() -> {
+            Booking moved = bookings.get(next.getAndIncrement());
+            moved.setCheckInDate(java.sql.Date.valueOf(BASE_DATE));
+            moved.setCheckOutDate(java.sql.Date.valueOf(BASE_DATE.plusDays(1)));
+            try {
+                bookingDAO.updateBooking(moved);
+                accepted.incrementAndGet();
+            } catch (BookingConflictException expected) {
+                // Another booking already moved onto the night
+            }
+        });
+
+        assertEquals(1, accepted.get());
+        assertEquals(1, countBookings(roomId, 0));
+    }
+
+    @Test
+    void testUpdateKeepingItsOwnNightsDoesNotConflictWithItself() {
+        Booking booking = newBooking(roomId, 0);
+        bookingDAO.reserveBooking(booking);
+
+        booking.setSpecialRequests("Late arrival");
+        bookingDAO.updateBooking(booking);
+
+        assertEquals("Late arrival", bookingDAO.getBookingById(booking.getId()).getSpecialRequests());
+    }
+
+    @Test
+    void testPendingBookingHidesTheRoomFromAvailabilitySearch() throws Exception {
+        Booking booking = newBooking(roomId, 0);
+        booking.setStatus("PENDING");
+        bookingDAO.reserveBooking(booking);
+
+        // The availability index catches up through the event bus
+        java.util.Date checkIn = booking.getCheckInDate();
+        java.util.Date checkOut = booking.getCheckOutDate();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (roomDAO.getAvailableRooms(1, checkIn, checkOut).stream().anyMatch(r -> r.getId() == roomId)) {
+            assertTrue(System.currentTimeMillis() < deadline, "Room with a PENDING booking is still offered");
+            Thread.sleep(20);
+        }
+        assertThrows(BookingConflictException.class, () -> bookingDAO.reserveBooking(newBooking(roomId, 0)));
+    }
+
+    @Test
+    void testHoldIsNotConsumedByABookingItWasNotPlacedFor() {
+        RoomHold hold = new RoomHold();
+        hold.setCustomerId(1);
+        hold.setHotelId(1);
+        hold.setRoomId(roomId);
+        hold.setCheckInDate(java.sql.Date.valueOf(BASE_DATE));
+        hold.setCheckOutDate(java.sql.Date.valueOf(BASE_DATE.plusDays(1)));
+        bookingDAO.placeHold(hold, 60);
+
+        int otherRoomId = createRoom();
+        assertThrows(InvalidBookingException.class, () -> bookingDAO.reserveBooking(newBooking(otherRoomId, 0), hold.getId()));
+        assertThrows(InvalidBookingException.class, () -> bookingDAO.reserveBooking(newBooking(roomId, 1), hold.getId()));
+        assertNotNull(holdManager.getHold(hold.getId()));
+
+        bookingDAO.reserveBooking(newBooking(roomId, 0), hold.getId());
+        assertNull(holdManager.getHold(hold.getId()));
+    }
+
+    private void runConcurrently(Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+    }
+
+    private Booking newBooking(int roomId, int night) {
+        Booking booking = new Booking();
+        booking.setCustomerId(1);
+        booking.setHotelId(1);
+        booking.setRoomId(roomId);
+        booking.setCheckInDate(java.sql.Date.valueOf(BASE_DATE.plusDays(night)));
+        booking.setCheckOutDate(java.sql.Date.valueOf(BASE_DATE.plusDays(night + 1)));
+        booking.setTotalAmount(100.0);
+        booking.setStatus("CONFIRMED");
+        return booking;
+    }
+
+    private int countBookings(int roomId, int night) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE room_id = ? AND check_in_date = ?",
+                Integer.class, roomId, java.sql.Date.valueOf(BASE_DATE.plusDays(night)));
+    }
+
+    private int createRoom() {
+        String roomNumber = "CONC-" + roomCounter.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO rooms(hotel_id, room_number, room_type, capacity, price_per_night) VALUES (1, ?, 'SINGLE', 1, 100.00)", roomNumber);
+        return jdbcTemplate.queryForObject("SELECT id FROM rooms WHERE room_number = ?", Integer.class, roomNumber);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.hotelbooking.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextSearchTest {
+
+    @Test
+    void testEveryWordIsARequiredPrefix() {
+        assertEquals("+grand* +paris*", FullTextSearch.booleanQuery("Grand  Paris"));
+    }
+
+    @Test
+    void testBooleanOperatorsAreNotPassedThrough() {
+        assertEquals("+john* +smith*", FullTextSearch.booleanQuery("-john+smith*"));
+        assertEquals("+hôtel* +lumière*", FullTextSearch.booleanQuery("\"Hôtel\" (Lumière)"));
+    }
+
+    @Test
+    void testShortWordsFallBackToLike() {
+        assertNull(FullTextSearch.booleanQuery("inn by the sea"));
+        assertNull(FullTextSearch.booleanQuery("+-*"));
+    }
+
+    @Test
+    void testStopwordsFallBackToLike() {
+        assertNull(FullTextSearch.booleanQuery("john@example.com"));
+        assertNull(FullTextSearch.booleanQuery("www.grandparis.fr"));
+        assertNull(FullTextSearch.booleanQuery("Hotel with Pool"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hotelbooking.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void testRoundTripKeepsSubMillisecondPrecision() {
+        Timestamp createdAt = Timestamp.from(Instant.ofEpochSecond(1_900_000_000L, 123_456_789));
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, 42).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42, decoded.getId());
+    }
+
+    @Test
+    void testCursorIsUrlSafe() {
+        String cursor = new KeysetCursor(new Timestamp(System.currentTimeMillis()), Integer.MAX_VALUE).encode();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testMalformedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("MTIzOmFiYzo0"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("MTIz"));
+    }
+}
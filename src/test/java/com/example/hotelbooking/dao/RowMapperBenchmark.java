@@ -0,0 +1,118 @@
+package com.example.hotelbooking.dao;
+
+import com.example.hotelbooking.model.Booking;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Label-based vs index-based mapping of 100k bookings rows from H2.
+// Run with: mvn test -Dtest=RowMapperBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final String SQL = "SELECT * FROM bookings";
+
+    // The mapping every BookingDAO query used to repeat inline
+    private static final RowMapper<Booking> LABEL_MAPPER = (rs, rowNum) -> {
+        Booking b = new Booking();
+        b.setId(rs.getInt("id"));
+        b.setCustomerId(rs.getInt("customer_id"));
+        b.setHotelId(rs.getInt("hotel_id"));
+        b.setRoomId(rs.getObject("room_id", Integer.class));
+        b.setCheckInDate(rs.getDate("check_in_date"));
+        b.setCheckOutDate(rs.getDate("check_out_date"));
+        b.setBookingDate(rs.getTimestamp("booking_date"));
+        b.setTotalAmount(rs.getObject("total_amount", Double.class));
+        b.setStatus(rs.getString("status"));
+        b.setSpecialRequests(rs.getString("special_requests"));
+        b.setCreatedAt(rs.getTimestamp("created_at"));
+        b.setUpdatedAt(rs.getTimestamp("updated_at"));
+        b.setVersion(rs.getInt("version"));
+        return b;
+    };
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:row_mapper;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE bookings (id INT AUTO_INCREMENT PRIMARY KEY, customer_id INT NOT NULL, " +
+                "hotel_id INT NOT NULL, room_id INT, check_in_date DATE NOT NULL, check_out_date DATE NOT NULL, " +
+                "booking_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, total_amount DECIMAL(10, 2), status VARCHAR(20), " +
+                "special_requests TEXT, created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, version INT NOT NULL DEFAULT 0)");
+        jdbcTemplate.update("INSERT INTO bookings(customer_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, special_requests) " +
+                "SELECT MOD(X, 500) + 1, MOD(X, 100) + 1, MOD(X, 2000) + 1, " +
+                "DATEADD('DAY', MOD(X, 3650), DATE '2020-01-01'), DATEADD('DAY', MOD(X, 3650) + 2, DATE '2020-01-01'), " +
+                "199.00, 'CONFIRMED', CASE WHEN MOD(X, 3) = 0 THEN 'Late arrival' END " +
+                "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<Booking> labelBased() {
+        return jdbcTemplate.query(SQL, LABEL_MAPPER);
+    }
+
+    @Benchmark
+    public List<Booking> indexBased() {
+        return jdbcTemplate.query(SQL, BookingRowMapper.INSTANCE);
+    }
+
+    @Test
+    void run() throws Exception {
+        new Runner(new OptionsBuilder().include(RowMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Test
+    void mappersAgree() {
+        seed();
+        try {
+            List<Booking> byLabel = labelBased();
+            List<Booking> byIndex = indexBased();
+            assertEquals(ROWS, byIndex.size());
+            for (int i = 0; i < ROWS; i += 997) {
+                assertEquals(byLabel.get(i).getId(), byIndex.get(i).getId());
+                assertEquals(byLabel.get(i).getCheckInDate(), byIndex.get(i).getCheckInDate());
+                assertEquals(byLabel.get(i).getSpecialRequests(), byIndex.get(i).getSpecialRequests());
+            }
+        } finally {
+            tearDown();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hotelbooking.dto;
+
+import com.example.hotelbooking.model.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingStatusBreakdownTest {
+
+    @Test
+    void testRevenueCountsOnlyRevenueStatuses() {
+        BookingStatusBreakdown breakdown = new BookingStatusBreakdown();
+        breakdown.add(BookingStatus.PENDING, 4, 400.0);
+        breakdown.add(BookingStatus.CONFIRMED, 2, 250.0);
+        breakdown.add(BookingStatus.CHECKED_OUT, 1, 100.0);
+        breakdown.add(BookingStatus.CANCELLED, 3, 90.0);
+
+        assertEquals(10, breakdown.getTotalCount());
+        assertEquals(2, breakdown.getCount(BookingStatus.CONFIRMED));
+        assertEquals(0, breakdown.getCount(BookingStatus.CHECKED_IN));
+        assertEquals(350.0, breakdown.getTotalRevenue(), 0.001);
+    }
+
+    @Test
+    void testUnknownStatusesOnlyCountTowardsTheTotal() {
+        BookingStatusBreakdown breakdown = new BookingStatusBreakdown();
+        breakdown.add(BookingStatus.fromString("ON_HOLD"), 5, 500.0);
+        breakdown.add(BookingStatus.fromString("CONFIRMED"), 1, 80.0);
+
+        assertEquals(6, breakdown.getTotalCount());
+        assertEquals(80.0, breakdown.getTotalRevenue(), 0.001);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hotelbooking.event;
+
+import com.example.hotelbooking.model.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingTotalsChangedTest {
+
+    @Test
+    void testStatusChangeMovesCountAndAmount() {
+        BookingTotalsChanged change = BookingTotalsChanged.of("PENDING", 200.0, "CONFIRMED", 200.0);
+
+        assertEquals(-1, change.getCount(BookingStatus.PENDING));
+        assertEquals(-200.0, change.getAmount(BookingStatus.PENDING), 0.001);
+        assertEquals(1, change.getCount(BookingStatus.CONFIRMED));
+        assertEquals(200.0, change.getAmount(BookingStatus.CONFIRMED), 0.001);
+        assertEquals(0, change.getOtherCount());
+    }
+
+    @Test
+    void testDeltasAddUp() {
+        DomainEvent merged = BookingTotalsChanged.of(null, null, "PENDING", 100.0)
+                .coalesce(BookingTotalsChanged.of("PENDING", 100.0, "CANCELLED", 100.0))
+                .coalesce(BookingTotalsChanged.of(null, null, "UNKNOWN", 5.0));
+
+        BookingTotalsChanged totals = (BookingTotalsChanged) merged;
+        assertFalse(totals.isReset());
+        assertEquals(0, totals.getCount(BookingStatus.PENDING));
+        assertEquals(1, totals.getCount(BookingStatus.CANCELLED));
+        assertEquals(1, totals.getOtherCount());
+    }
+
+    @Test
+    void testDeltasAfterResetApplyOnTopOfIt() {
+        long[] counts = new long[BookingStatus.values().length];
+        double[] amounts = new double[BookingStatus.values().length];
+        counts[BookingStatus.CONFIRMED.ordinal()] = 10;
+        amounts[BookingStatus.CONFIRMED.ordinal()] = 1000.0;
+
+        DomainEvent beforeReset = BookingTotalsChanged.of(null, null, "PENDING", 50.0);
+        BookingTotalsChanged merged = (BookingTotalsChanged) beforeReset
+                .coalesce(BookingTotalsChanged.reset(counts, amounts, 0))
+                .coalesce(BookingTotalsChanged.of(null, null, "CONFIRMED", 100.0));
+
+        assertTrue(merged.isReset());
+        assertEquals(0, merged.getCount(BookingStatus.PENDING));
+        assertEquals(11, merged.getCount(BookingStatus.CONFIRMED));
+        assertEquals(1100.0, merged.getAmount(BookingStatus.CONFIRMED), 0.001);
+    }
+}
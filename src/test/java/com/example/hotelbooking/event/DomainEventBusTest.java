@@ -0,0 +1,108 @@
+package com.example.hotelbooking.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainEventBusTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    private DomainEventBus eventBus;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new DomainEventBus();
+        eventBus.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventBus.stop();
+    }
+
+    @Test
+    void testDeliversOnlyToMatchingSubscribers() throws InterruptedException {
+        List<Object> rooms = new CopyOnWriteArrayList<>();
+        List<Object> hotels = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(2);
+        eventBus.subscribe(RoomChanged.class, event -> {
+            rooms.add(event.getRoomId());
+            delivered.countDown();
+        });
+        eventBus.subscribe(HotelChanged.class, event -> {
+            hotels.add(event.getHotelId());
+            delivered.countDown();
+        });
+
+        eventBus.publish(new RoomChanged(7, 1));
+        eventBus.publish(new HotelChanged(3));
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(7), rooms);
+        assertEquals(List.of(3), hotels);
+    }
+
+    @Test
+    void testPendingEventsForOneRoomAreCoalesced() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<BookingChanged> changes = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(2);
+        eventBus.subscribe(HotelChanged.class, event -> {
+            blocked.countDown();
+            await(release);
+        });
+        eventBus.subscribe(BookingChanged.class, event -> {
+            changes.add(event);
+            delivered.countDown();
+        });
+
+        // Hold the dispatcher so the booking changes pile up behind it
+        eventBus.publish(new HotelChanged(1));
+        assertTrue(blocked.await(2, TimeUnit.SECONDS));
+        eventBus.publish(new BookingChanged(1, 1, 10, DAY, DAY.plusDays(2)));
+        eventBus.publish(new BookingChanged(2, 1, 10, DAY.plusDays(5), DAY.plusDays(6)));
+        eventBus.publish(new BookingChanged(3, 1, 11, DAY, DAY.plusDays(1)));
+        assertEquals(2, eventBus.getQueueDepth());
+        release.countDown();
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        assertEquals(2, changes.size());
+        BookingChanged room10 = changes.get(0);
+        assertEquals(10, room10.getRoomId());
+        assertEquals(2, room10.getBookingId());
+        assertEquals(DAY, room10.getCheckIn());
+        assertEquals(DAY.plusDays(6), room10.getCheckOut());
+        assertEquals(11, changes.get(1).getRoomId());
+    }
+
+    @Test
+    void testFailingSubscriberDoesNotBlockOthers() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        eventBus.subscribe(RoomChanged.class, event -> {
+            throw new IllegalStateException("boom");
+        });
+        eventBus.subscribe(RoomChanged.class, event -> delivered.countDown());
+
+        eventBus.publish(new RoomChanged(1, null));
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
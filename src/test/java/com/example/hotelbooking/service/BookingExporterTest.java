@@ -0,0 +1,58 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.dao.BookingDAO;
+import com.example.hotelbooking.model.Booking;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExporterTest {
+
+    @Mock
+    private BookingDAO bookingDAO;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BookingExporter bookingExporter;
+
+    @Test
+    void testNdjsonLinesHaveNoLeadingSeparator() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Booking> consumer = invocation.getArgument(3);
+            for (int id = 1; id <= 3; id++) {
+                Booking booking = new Booking();
+                booking.setId(id);
+                booking.setStatus("CONFIRMED");
+                consumer.accept(booking);
+            }
+            return null;
+        }).when(bookingDAO).exportBookings(any(), any(), any(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingExporter.writeNdjson(null, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("{"), "Line " + (i + 1) + " starts with '" + lines[i].charAt(0) + "'");
+            JsonNode node = objectMapper.readTree(lines[i]);
+            assertEquals(i + 1, node.get("id").asInt());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.hotelbooking.service;
+
+import com.example.hotelbooking.HotelBookingApplication;
+import com.example.hotelbooking.dao.HotelDAO;
+import com.example.hotelbooking.dao.RoomDAO;
+import com.example.hotelbooking.dao.UserDAO;
+import com.example.hotelbooking.model.Hotel;
+import com.example.hotelbooking.model.Room;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two application nodes sharing one H2 file database: a write on node A must reach node B's caches
+class InvalidationLogCoherenceTest {
+
+    private static final long POLL_MS = 100;
+    private static final long GAP_TIMEOUT_MS = 300;
+
+    @TempDir
+    static Path dataDir;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        String url = "jdbc:h2:file:" + dataDir.resolve("coherence").toAbsolutePath() + ";DB_CLOSE_DELAY=-1";
+        // Only the first node creates and seeds the schema
+        nodeA = start(url, "always");
+        nodeB = start(url, "never");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void testHotelUpdateOnOneNodeEvictsTheOther() {
+        HotelDAO hotelsA = nodeA.getBean(HotelDAO.class);
+        HotelDAO hotelsB = nodeB.getBean(HotelDAO.class);
+        int hotelId = hotelsA.getHotelSummaries().get(0).getId();
+        String before = hotelsB.getHotelById(hotelId).getName(); // Now cached on node B
+
+        Hotel hotel = hotelsA.getHotelById(hotelId);
+        Hotel renamed = new Hotel();
+        renamed.setId(hotelId);
+        renamed.setName(before + " Renamed");
+        renamed.setAddress(hotel.getAddress());
+        renamed.setCity(hotel.getCity());
+        renamed.setCountry(hotel.getCountry());
+        renamed.setStarRating(hotel.getStarRating());
+        renamed.setIsActive(true);
+        hotelsA.updateHotel(renamed);
+
+        awaitTrue(() -> (before + " Renamed").equals(hotelsB.getHotelById(hotelId).getName()));
+    }
+
+    @Test
+    void testRoomDeleteOnOneNodeEvictsRoomAndHotelListOnTheOther() {
+        RoomDAO roomsA = nodeA.getBean(RoomDAO.class);
+        RoomDAO roomsB = nodeB.getBean(RoomDAO.class);
+        Room room = roomsA.getAllRooms().get(0);
+        assertNotNull(roomsB.getRoomById(room.getId()));
+        List<Room> listed = roomsB.getRoomsByHotelId(room.getHotelId());
+        assertTrue(listed.stream().anyMatch(r -> r.getId() == room.getId()));
+
+        roomsA.deleteRoom(room.getId());
+
+        awaitTrue(() -> roomsB.getRoomById(room.getId()) == null);
+        awaitTrue(() -> roomsB.getRoomsByHotelId(room.getHotelId()).stream().noneMatch(r -> r.getId() == room.getId()));
+    }
+
+    @Test
+    void testUserDeactivationOnOneNodeEvictsPrincipalOnTheOther() {
+        UserDAO usersA = nodeA.getBean(UserDAO.class);
+        UserDAO usersB = nodeB.getBean(UserDAO.class);
+        int userId = usersA.findByUsername("customer3").getId();
+        assertNotNull(usersB.getPrincipalByUsername("customer3"));
+        assertNotNull(usersB.getPrincipalById(userId));
+
+        usersA.deleteUser(userId);
+
+        awaitTrue(() -> usersB.getPrincipalByUsername("customer3") == null && usersB.getPrincipalById(userId) == null);
+    }
+
+    @Test
+    void testEntryCommittedAfterTheGapTimeoutStillEvicts() throws Exception {
+        HotelDAO hotelsB = nodeB.getBean(HotelDAO.class);
+        int hotelId = hotelsB.getHotelSummaries().get(1).getId();
+        String before = hotelsB.getHotelById(hotelId).getName();
+
+        try (Connection slow = nodeA.getBean(DataSource.class).getConnection()) {
+            slow.setAutoCommit(false);
+            try (PreparedStatement rename = slow.prepareStatement("UPDATE hotels SET name = ? WHERE id = ?");
+                 PreparedStatement append = slow.prepareStatement(
+                         "INSERT INTO invalidation_log(entity, entity_id, node_id) VALUES (?, ?, 'slow-writer')")) {
+                rename.setString(1, before + " Late");
+                rename.setInt(2, hotelId);
+                rename.executeUpdate();
+                append.setString(1, InvalidationLog.HOTEL);
+                append.setInt(2, hotelId);
+                append.executeUpdate();
+            }
+            // A later seq commits first, and node B moves its cursor past the open one
+            nodeA.getBean(TransactionTemplate.class).executeWithoutResult(
+                    status -> nodeA.getBean(InvalidationLog.class).append(InvalidationLog.ROOM, 0));
+            Thread.sleep(GAP_TIMEOUT_MS + 10 * POLL_MS);
+            slow.commit();
+        }
+
+        awaitTrue(() -> (before + " Late").equals(hotelsB.getHotelById(hotelId).getName()));
+    }
+
+    // Command-line arguments, so the settings outrank application.properties
+    private static ConfigurableApplicationContext start(String url, String sqlInitMode) {
+        return new SpringApplicationBuilder(HotelBookingApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.sql.init.mode=" + sqlInitMode,
+                "--server.port=0",
+                "--booking.invalidation.poll-ms=" + POLL_MS,
+                "--booking.invalidation.gap-timeout-ms=" + GAP_TIMEOUT_MS,
+                // Long TTLs, so only the invalidation log can make node B see the change
+                "--booking.cache.hotels.ttl-seconds=3600",
+                "--booking.cache.rooms.ttl-seconds=3600",
+                "--booking.cache.users.ttl-seconds=3600");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 50 * POLL_MS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Node B did not see node A's write within " + 50 * POLL_MS + "ms");
+            }
+            try {
+                Thread.sleep(POLL_MS / 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.hotelbooking.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    private static final String ETAG = "\"h1a2b-7\"";
+
+    @Test
+    void testMatchesExactTag() {
+        assertTrue(ETags.matches("\"h1a2b-7\"", ETAG));
+        assertFalse(ETags.matches("\"h1a2b-6\"", ETAG));
+    }
+
+    @Test
+    void testMatchesAnyTagInList() {
+        assertTrue(ETags.matches("\"x\", \"h1a2b-7\"", ETAG));
+        assertFalse(ETags.matches("\"x\", \"y\"", ETAG));
+    }
+
+    @Test
+    void testWeakTagAndWildcardMatch() {
+        assertTrue(ETags.matches("W/\"h1a2b-7\"", ETAG));
+        assertTrue(ETags.matches("*", ETAG));
+    }
+
+    @Test
+    void testMissingHeaderNeverMatches() {
+        assertFalse(ETags.matches(null, ETAG));
+        assertFalse(ETags.matches("", ETAG));
+    }
+}
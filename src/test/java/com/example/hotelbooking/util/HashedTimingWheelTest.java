@@ -0,0 +1,66 @@
+package com.example.hotelbooking.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+    private CountDownLatch latch;
+    private HashedTimingWheel<String> wheel;
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void testTimeoutsFireInDeadlineOrder() throws InterruptedException {
+        start(3);
+        wheel.schedule("late", 120, TimeUnit.MILLISECONDS);
+        wheel.schedule("early", 20, TimeUnit.MILLISECONDS);
+        wheel.schedule("middle", 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("early", "middle", "late"), expired);
+    }
+
+    @Test
+    void testCancelledTimeoutNeverFires() throws InterruptedException {
+        start(1);
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 20, TimeUnit.MILLISECONDS);
+        cancelled.cancel();
+        wheel.schedule("kept", 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("kept"), expired);
+        assertTrue(cancelled.isCancelled());
+    }
+
+    @Test
+    void testDelaysLongerThanOneRevolution() throws InterruptedException {
+        start(1);
+        long begin = System.nanoTime();
+        // 8 buckets of 10ms: a 200ms delay needs more than two revolutions
+        wheel.schedule("later", 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) >= 190);
+    }
+
+    private void start(int expectedTimeouts) {
+        latch = new CountDownLatch(expectedTimeouts);
+        wheel = new HashedTimingWheel<>("test-wheel", 10, 8, item -> {
+            expired.add(item);
+            latch.countDown();
+        });
+        wheel.start();
+    }
+}
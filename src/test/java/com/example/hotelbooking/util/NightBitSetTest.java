@@ -0,0 +1,79 @@
+package com.example.hotelbooking.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NightBitSetTest {
+
+    @Test
+    void testEmptySetHasNoOverlap() {
+        NightBitSet nights = new NightBitSet();
+
+        assertTrue(nights.isEmpty());
+        assertFalse(nights.intersects(0, 1000));
+    }
+
+    @Test
+    void testHalfOpenRanges() {
+        NightBitSet nights = new NightBitSet();
+        nights.set(10, 13); // nights 10, 11, 12
+
+        assertFalse(nights.intersects(5, 10));
+        assertTrue(nights.intersects(5, 11));
+        assertTrue(nights.intersects(12, 20));
+        assertFalse(nights.intersects(13, 20));
+        assertTrue(nights.intersects(11, 12));
+    }
+
+    @Test
+    void testRangesSpanningWordBoundaries() {
+        NightBitSet nights = new NightBitSet();
+        nights.set(60, 130);
+
+        assertTrue(nights.get(60));
+        assertTrue(nights.get(64));
+        assertTrue(nights.get(129));
+        assertFalse(nights.get(130));
+        assertFalse(nights.intersects(0, 60));
+        assertTrue(nights.intersects(127, 200));
+        assertFalse(nights.intersects(130, 500));
+    }
+
+    @Test
+    void testClear() {
+        NightBitSet nights = new NightBitSet();
+        nights.set(0, 200);
+        nights.clear(50, 150);
+
+        assertTrue(nights.get(49));
+        assertFalse(nights.intersects(50, 150));
+        assertTrue(nights.get(150));
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        NightBitSet nights = new NightBitSet();
+        nights.set(1, 2);
+        NightBitSet copy = nights.copy();
+        copy.set(5, 6);
+
+        assertFalse(nights.get(5));
+        assertTrue(copy.get(1));
+    }
+
+    @Test
+    void testToByteArrayIsRelativeToFrom() {
+        NightBitSet nights = new NightBitSet();
+        nights.set(100, 103); // nights 100, 101, 102
+        nights.set(110, 111);
+
+        byte[] bytes = nights.toByteArray(100, 116);
+
+        assertEquals(2, bytes.length);
+        assertEquals(0b00000111, bytes[0]);
+        assertEquals(0b00000100, bytes[1]); // Offset 10: byte 1, bit 2, least significant bit first
+        assertEquals(1, nights.toByteArray(95, 96).length);
+        assertEquals(0, nights.toByteArray(95, 96)[0]);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hotelbooking.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.rebuild(Map.of(
+                1, "Grand Plaza Hotel New York 123 Broadway",
+                2, "Seaside Inn Miami Ocean Drive",
+                3, "Grand Canyon Lodge Arizona"));
+    }
+
+    @Test
+    void testEveryWordMustMatch() {
+        assertArrayEquals(new int[] {1, 3}, index.search("grand"));
+        assertArrayEquals(new int[] {1}, index.search("Grand  PLAZA"));
+        assertArrayEquals(new int[] {2}, index.search("miam"));
+    }
+
+    @Test
+    void testShortWordsMatchWordStarts() {
+        assertArrayEquals(new int[] {2}, index.search("mi"));
+        assertArrayEquals(new int[0], index.search("ia"));
+        assertNull(index.search("!"));
+    }
+
+    @Test
+    void testTypoFallsBackToMostTrigrams() {
+        assertArrayEquals(new int[] {2}, index.search("seasdie inn"));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        index.put(2, "Bayside Inn Miami");
+        index.remove(1);
+        index.put(5, "Grand Five");
+
+        assertArrayEquals(new int[0], index.search("seaside"));
+        assertArrayEquals(new int[] {2}, index.search("bayside"));
+        assertArrayEquals(new int[] {3, 5}, index.search("grand"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testGallopingIntersection() {
+        int[] small = {3, 70, 71, 500, 9000};
+        int[] large = new int[1000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i * 2;
+        }
+        assertArrayEquals(new int[] {70, 500}, TrigramIndex.intersect(small, large));
+        assertArrayEquals(new int[] {70, 500}, TrigramIndex.intersect(large, small));
+        assertArrayEquals(new int[0], TrigramIndex.intersect(new int[0], large));
+    }
+}
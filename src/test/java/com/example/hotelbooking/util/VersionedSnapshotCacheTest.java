@@ -0,0 +1,94 @@
+package com.example.hotelbooking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedSnapshotCacheTest {
+
+    private final VersionedSnapshotCache<Integer, String> cache = new VersionedSnapshotCache<>(100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testLoadsOncePerVersion() {
+        assertEquals("1:1", cache.get(1, this::load));
+        assertEquals("1:1", cache.get(1, this::load));
+        assertEquals(1, loads.get());
+
+        cache.bump(1);
+        assertEquals("1:2", cache.get(1, this::load));
+        assertEquals("1:2", cache.get(1, this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testBumpDuringLoadLeavesSnapshotStale() {
+        assertEquals("1:1", cache.get(1, key -> {
+            cache.bump(key);
+            return load(key);
+        }));
+        assertEquals("1:2", cache.get(1, this::load));
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(1, key -> {
+            loading.countDown();
+            await(release);
+            return load(key);
+        }));
+        assertTrue(loading.await(2, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get(1, this::load));
+        release.countDown();
+
+        assertEquals("1:1", first.get(2, TimeUnit.SECONDS));
+        assertEquals("1:1", second.get(2, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testReadersGetPreviousSnapshotWhileReloading() throws Exception {
+        cache.get(1, this::load);
+        cache.bump(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> reload = CompletableFuture.supplyAsync(() -> cache.get(1, key -> {
+            loading.countDown();
+            await(release);
+            return load(key);
+        }));
+        assertTrue(loading.await(2, TimeUnit.SECONDS));
+
+        assertEquals("1:1", cache.get(1, this::load));
+        release.countDown();
+        assertEquals("1:2", reload.get(2, TimeUnit.SECONDS));
+        assertEquals("1:2", cache.get(1, this::load));
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(1, key -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals("1:1", cache.get(1, this::load));
+    }
+
+    private String load(int key) {
+        return key + ":" + loads.incrementAndGet();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}